@@ -1,13 +1,19 @@
 package upei.project;
 
-import java.util.List;
-
 /**
  * AggressiveStrategy focuses on capturing opponent pieces and advancing towards promotion.
  * It prioritizes moves that result in captures and targets the highest-value pieces.
+ * The value of every move is scored in one pass by a {@link CaptureEvaluator}.
+ * An instance reuses its buffers between calls, so it should not be shared across threads.
  */
 public class AggressiveStrategy implements Strategy {
 
+    private final MoveBuffer moves = new MoveBuffer(); // Reused on every call to avoid allocating per turn
+    private final PositionBatch children = new PositionBatch();
+    private final BatchEvaluator captureEvaluator = new CaptureEvaluator();
+    private final int[] values = new int[MoveBuffer.CAPACITY];
+    private GameListener listener = GameListener.NONE;
+
     /**
      * Decides the most aggressive move for the player.
      *
@@ -17,76 +23,45 @@ public class AggressiveStrategy implements Strategy {
      */
     @Override
     public Move decideMove(Board board, Player player) {
-        List<Move> validMoves = board.getValidMoves(player);
-        if (validMoves.isEmpty()) {
+        int count = board.generateMoves(player, moves);
+        if (count == 0) {
             return null; // No valid moves
         }
 
-        Move bestMove = null;
-        int highestValue = 0;
+        // Value every move at once: captures add value, with Kings worth more than regular pieces
+        children.fill(board.getBitBoard(), moves);
+        captureEvaluator.evaluate(children, player.isBlack(), values);
 
-        for (Move move : validMoves) {
-            // Simulate the board state after the move
-            Board simulatedBoard = board.copy();
-            simulatedBoard.executeMove(move);
+        int bestMove = -1;
+        int highestValue = 0;
 
-            // Calculate the value of this move
-            int moveValue = calculateMoveValue(simulatedBoard, move, player);
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            int moveValue = values[i];
 
-            // Debugging: Log move evaluation
-            System.out.println("Move: " + move + " Value: " + moveValue);
+            // Debugging: Report move evaluation
+            listener.onMoveEvaluated(player, move, moveValue);
 
             if (moveValue > highestValue) {
                 highestValue = moveValue;
                 bestMove = move;
             } else if (moveValue == highestValue) {
                 // Tie-breaker: Prefer advancing moves
-                if (bestMove == null || isAdvancing(move, player)) {
+                if (bestMove < 0 || isAdvancing(move, player)) {
                     bestMove = move;
                 }
             }
         }
 
-        // Debugging: Log the chosen move
-        System.out.println("Chosen Move: " + bestMove + " with Value: " + highestValue);
+        // Debugging: Report the chosen move
+        listener.onMoveChosen(player, bestMove);
 
-        return bestMove;
+        return MoveBuffer.toMove(bestMove);
     }
 
-
-
-
-    /**
-     * Calculates the value of a move based on its impact.
-     * Captures add value, with Kings being worth more than regular pieces.
-     *
-     * @param board  The simulated board state.
-     * @param move   The move being evaluated.
-     * @param player The player making the move.
-     * @return The value of the move.
-     */
-    private int calculateMoveValue(Board board, Move move, Player player) {
-        int value = 0;
-
-        // If the move is a capture
-        if (move.isCapture()) {
-            int midX = (move.getStartX() + move.getEndX()) / 2;
-            int midY = (move.getStartY() + move.getEndY()) / 2;
-
-            // Get the piece being captured
-            Piece capturedPiece = board.getPieceAt(midX, midY);
-
-            if (capturedPiece != null) {
-                // Debugging: Log the captured piece
-                System.out.println("Captured Piece: " + capturedPiece.getClass().getSimpleName());
-
-                // Assign value based on the type of captured piece
-                // King pieces are worth 3 points, Regular pieces are worth 1 point
-                value += (capturedPiece instanceof KingPiece) ? 3 : 1;
-            }
-        }
-
-        return value;
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 
 
@@ -95,16 +70,18 @@ public class AggressiveStrategy implements Strategy {
     /**
      * Determines if a move advances a piece closer to promotion.
      *
-     * @param move   The move being evaluated.
+     * @param move   The packed move being evaluated.
      * @param player The player making the move.
      * @return true if the move advances the piece, false otherwise.
      */
-    private boolean isAdvancing(Move move, Player player) {
+    private boolean isAdvancing(int move, Player player) {
         // Black pieces advance towards higher row indices; White towards lower row indices
-        if (player.getColor().equals("Black")) {
-            return move.getEndX() > move.getStartX();
+        int startRow = MoveBuffer.from(move) >>> 3;
+        int endRow = MoveBuffer.to(move) >>> 3;
+        if (player.isBlack()) {
+            return endRow > startRow;
         } else {
-            return move.getEndX() < move.getStartX();
+            return endRow < startRow;
         }
     }
 }
@@ -0,0 +1,417 @@
+package upei.project;
+
+/**
+ * AlphaBetaStrategy looks ahead several moves with a minimax search and alpha-beta pruning.
+ * It deepens the search one ply at a time until it reaches its maximum depth or runs out of time,
+ * and always plays the best move of the deepest search it completed.
+ * Moves are tried captures first, then by how often they caused cut-offs before (history heuristic),
+ * and positions at the search horizon are scored by a pluggable {@link Evaluator}.
+ * With a {@link TranspositionTable} the search reuses results for positions it has already seen.
+ * {@link SearchLimits} passed with a move tighten the strategy's own depth and time limits,
+ * and can add a node limit or stop the search from another thread.
+ * An instance reuses its search buffers between calls, so it should not be shared across threads.
+ */
+public class AlphaBetaStrategy implements Strategy {
+    private static final int MAX_PLY = 64;       // Deepest ply the search buffers allow
+    private static final int INFINITY = 10_000_000;
+    private static final int WIN = 1_000_000;    // Score of a won game, less the plies needed to win it
+    private static final int CAPTURE_ORDER_BONUS = 1 << 30;
+    private static final int HISTORY_LIMIT = 1 << 20; // History counts are halved before passing this
+
+    private final int maxDepth;
+    private final long timeLimitNanos; // 0 means no time limit
+    private final Evaluator evaluator;
+    private final TranspositionTable table; // null to search without one
+
+    // Search state, reused between calls
+    private final MoveBuffer[] moves = new MoveBuffer[MAX_PLY];
+    private final int[] orderScores = new int[MoveBuffer.CAPACITY];
+    private final int[] history = new int[64 * 64]; // Cut-off counts indexed by from * 64 + to, aged every search
+    private Board board;
+    private BitBoard bits;
+    private Player blackPlayer;
+    private Player whitePlayer;
+    private long deadline;
+    private long nodeLimit;
+    private SearchLimits limits;
+    private boolean aborted;
+    private long nodes;
+
+    // Statistics of the last search
+    private long lastNodes;
+    private long lastElapsedNanos;
+    private int lastDepth;
+
+    private GameListener listener = GameListener.NONE;
+
+    /**
+     * Creates a strategy that searches six plies deep with no time limit and scores by material.
+     */
+    public AlphaBetaStrategy() {
+        this(6, 0, new MaterialEvaluator());
+    }
+
+    /**
+     * Creates a strategy that searches to a fixed depth with no time limit and scores by material.
+     *
+     * @param maxDepth the search depth in plies.
+     */
+    public AlphaBetaStrategy(int maxDepth) {
+        this(maxDepth, 0, new MaterialEvaluator());
+    }
+
+    /**
+     * Creates a strategy with the given limits and evaluation function.
+     *
+     * @param maxDepth the deepest search depth in plies (1 to 63).
+     * @param timeLimitMillis the time allowed per move in milliseconds, or 0 for no limit.
+     * @param evaluator the function that scores positions at the search horizon.
+     */
+    public AlphaBetaStrategy(int maxDepth, long timeLimitMillis, Evaluator evaluator) {
+        this(maxDepth, timeLimitMillis, evaluator, null);
+    }
+
+    /**
+     * Creates a strategy with the given limits, evaluation function and transposition table.
+     * The table keeps its contents between moves, so results from earlier searches are reused.
+     *
+     * @param maxDepth the deepest search depth in plies (1 to 63).
+     * @param timeLimitMillis the time allowed per move in milliseconds, or 0 for no limit.
+     * @param evaluator the function that scores positions at the search horizon.
+     * @param table the transposition table to use, or null to search without one.
+     */
+    public AlphaBetaStrategy(int maxDepth, long timeLimitMillis, Evaluator evaluator, TranspositionTable table) {
+        if (maxDepth < 1 || maxDepth >= MAX_PLY) {
+            throw new IllegalArgumentException("Search depth must be between 1 and " + (MAX_PLY - 1) + ".");
+        }
+        if (timeLimitMillis < 0) {
+            throw new IllegalArgumentException("Time limit cannot be negative.");
+        }
+        this.maxDepth = maxDepth;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.evaluator = evaluator;
+        this.table = table;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moves[ply] = new MoveBuffer();
+        }
+    }
+
+    /**
+     * Decides a move by searching the game tree with iterative deepening.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @return The best move found, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player) {
+        return decideMove(board, player, SearchLimits.none());
+    }
+
+    /**
+     * Decides a move by searching the game tree with iterative deepening, within both
+     * this strategy's limits and the given ones.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @param limits Additional limits on the search.
+     * @return The best move found, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player, SearchLimits limits) {
+        long startTime = System.nanoTime();
+        deadline = SearchLimits.earlier(timeLimitNanos > 0 ? startTime + timeLimitNanos : 0, limits.deadline(startTime));
+        nodeLimit = limits.getMaxNodes() > 0 ? limits.getMaxNodes() : Long.MAX_VALUE;
+        int depthLimit = limits.getMaxDepth() > 0 ? Math.min(maxDepth, limits.getMaxDepth()) : maxDepth;
+        this.limits = limits;
+        aborted = false;
+        nodes = 0;
+        ageHistory(); // Older searches, and older games, count for less
+
+        // Search on a copy so the caller's board is untouched even if the search is cut short
+        this.board = board.copy();
+        this.bits = this.board.getBitBoard();
+        boolean isBlack = player.isBlack();
+        bits.setWhiteToMove(!isBlack); // Keep position hashes consistent between searches
+        blackPlayer = isBlack ? player : new Player(PieceColor.BLACK, this);
+        whitePlayer = isBlack ? new Player(PieceColor.WHITE, this) : player;
+
+        MoveBuffer rootMoves = moves[0];
+        int count = bits.generateMoves(isBlack, rootMoves);
+        if (count == 0) {
+            return null; // No valid moves
+        }
+
+        int bestMove = rootMoves.get(0);
+        int completedDepth = 0;
+        for (int depth = 1; depth <= depthLimit && count > 1; depth++) {
+            // Try the best move of the previous iteration first, then order the rest
+            orderMoves(rootMoves, 0, bestMove);
+
+            int alpha = -INFINITY;
+            int iterationBest = -1;
+            for (int i = 0; i < count; i++) {
+                int move = rootMoves.get(i);
+                int undo = bits.makeMove(move);
+                int score = -search(depth - 1, 1, -INFINITY, -alpha, !isBlack);
+                bits.unmakeMove(move, undo);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = move;
+                }
+            }
+            if (aborted) {
+                break; // Keep the result of the last completed depth
+            }
+
+            bestMove = iterationBest;
+            completedDepth = depth;
+            if (Math.abs(alpha) >= WIN - MAX_PLY) {
+                break; // The result of the game is already decided
+            }
+        }
+
+        lastNodes = nodes;
+        lastElapsedNanos = System.nanoTime() - startTime;
+        lastDepth = completedDepth;
+        this.board = null;
+        this.bits = null;
+        this.limits = null;
+
+        listener.onSearchCompleted(player, completedDepth, lastNodes, lastElapsedNanos);
+        listener.onMoveChosen(player, bestMove);
+        return MoveBuffer.toMove(bestMove);
+    }
+
+    /**
+     * Searches a position with negamax and alpha-beta pruning.
+     *
+     * @param depth the remaining depth in plies.
+     * @param ply the distance from the root.
+     * @param alpha the score the side to move is already guaranteed.
+     * @param beta the score above which the opponent will avoid this position.
+     * @param isBlack whether Black is to move.
+     * @return the score of the position for the side to move.
+     */
+    private int search(int depth, int ply, int alpha, int beta, boolean isBlack) {
+        nodes++;
+        if (nodes > nodeLimit || ((nodes & 1023) == 0
+                && ((deadline != 0 && System.nanoTime() > deadline) || limits.isStopped()))) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        // The game ends as soon as either side cannot move
+        if (!bits.hasAnyMove(isBlack) || !bits.hasAnyMove(!isBlack)) {
+            return terminalScore(ply, isBlack);
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return evaluator.evaluate(board, isBlack ? blackPlayer : whitePlayer);
+        }
+
+        // Reuse an earlier result for this position if it is deep enough and decides the window
+        long key = bits.getHash();
+        int tableMove = -1;
+        if (table != null) {
+            long entry = table.probe(key);
+            if (entry != 0) {
+                tableMove = TranspositionTable.bestMove(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        MoveBuffer buffer = moves[ply];
+        int count = bits.generateMoves(isBlack, buffer);
+        orderMoves(buffer, ply, tableMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int move = buffer.get(i);
+            int undo = bits.makeMove(move);
+            int score = -search(depth - 1, ply + 1, -beta, -alpha, !isBlack);
+            bits.unmakeMove(move, undo);
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                // Remember quiet moves that refute a line so they are tried early elsewhere
+                if (!MoveBuffer.isCapture(move)) {
+                    int index = (MoveBuffer.from(move) << 6) | MoveBuffer.to(move);
+                    history[index] += depth * depth;
+                    if (history[index] > HISTORY_LIMIT) {
+                        ageHistory(); // Keep the counts far from overflowing
+                    }
+                }
+                break;
+            }
+        }
+
+        if (table != null) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(key, depth, bound, toTable(best, ply), bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Converts a score for storage: won and lost scores are made relative to the stored
+     * position rather than the root, so they stay correct when reached at another ply.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) {
+            return score + ply;
+        } else if (score <= MAX_PLY - WIN) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a stored score back to a score relative to the root.
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) {
+            return score - ply;
+        } else if (score <= MAX_PLY - WIN) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Scores a finished game the way {@link Game#determineWinner()} decides it: by piece count.
+     * Wins found sooner score higher, losses found later score higher.
+     *
+     * @param ply the distance from the root.
+     * @param isBlack whether Black is to move.
+     * @return the score for the side to move.
+     */
+    private int terminalScore(int ply, boolean isBlack) {
+        int own = Long.bitCount(isBlack ? bits.getBlack() : bits.getWhite());
+        int opponent = Long.bitCount(isBlack ? bits.getWhite() : bits.getBlack());
+        if (own > opponent) {
+            return WIN - ply;
+        } else if (own < opponent) {
+            return ply - WIN;
+        }
+        return 0;
+    }
+
+    /**
+     * Halves every history count, so cut-offs from earlier searches weigh less than new ones.
+     */
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Gets the history count of a quiet move, for tests.
+     *
+     * @param from the starting square.
+     * @param to the destination square.
+     * @return the count.
+     */
+    int getHistory(int from, int to) {
+        return history[(from << 6) | to];
+    }
+
+    /**
+     * Sorts moves so that a preferred move comes first, then captures, then moves with the
+     * highest history scores.
+     *
+     * @param buffer the moves to sort.
+     * @param ply the ply the moves belong to.
+     * @param preferred a packed move to try first, or -1 for none.
+     */
+    private void orderMoves(MoveBuffer buffer, int ply, int preferred) {
+        int count = buffer.size();
+        for (int i = 0; i < count; i++) {
+            int move = buffer.get(i);
+            int score = history[(MoveBuffer.from(move) << 6) | MoveBuffer.to(move)];
+            if (MoveBuffer.isCapture(move)) {
+                score += CAPTURE_ORDER_BONUS;
+            }
+            if (move == preferred) {
+                score = Integer.MAX_VALUE;
+            }
+            orderScores[i] = score;
+        }
+
+        // Insertion sort: move lists are short, and the sort is stable so generation order breaks ties
+        for (int i = 1; i < count; i++) {
+            for (int j = i; j > 0 && orderScores[j] > orderScores[j - 1]; j--) {
+                int score = orderScores[j];
+                orderScores[j] = orderScores[j - 1];
+                orderScores[j - 1] = score;
+                buffer.swap(j, j - 1);
+            }
+        }
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the number of positions visited by the last search.
+     *
+     * @return the node count.
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * Gets the time taken by the last search.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    /**
+     * Gets the deepest depth completed by the last search.
+     *
+     * @return the completed depth in plies, or 0 if the move was forced.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Gets the search speed of the last search.
+     *
+     * @return the number of positions visited per second.
+     */
+    public long getNodesPerSecond() {
+        return lastElapsedNanos > 0 ? lastNodes * 1_000_000_000L / lastElapsedNanos : 0;
+    }
+}
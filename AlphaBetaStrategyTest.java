@@ -0,0 +1,138 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaStrategyTest {
+
+    /**
+     * Creates a board with no pieces on it.
+     */
+    private Board emptyBoard() {
+        Board board = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                board.removePieceAt(row, col);
+            }
+        }
+        return board;
+    }
+
+    @Test
+    void testAlphaBetaStrategyNoMoves() {
+        Board board = emptyBoard();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy();
+        Player blackPlayer = new Player("Black", strategy);
+
+        assertNull(strategy.decideMove(board, blackPlayer), "No move should be chosen when there are no pieces.");
+    }
+
+    @Test
+    void testHistoryIsAgedBetweenSearches() {
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(6);
+        Player blackPlayer = new Player("Black", strategy);
+        strategy.decideMove(new Board(), blackPlayer);
+
+        int[] before = new int[64 * 64];
+        int total = 0;
+        for (int i = 0; i < before.length; i++) {
+            before[i] = strategy.getHistory(i >>> 6, i & 63);
+            total += before[i];
+        }
+        assertTrue(total > 0, "The search should record cut-offs.");
+
+        strategy.decideMove(emptyBoard(), blackPlayer); // A search with nothing to add
+        for (int i = 0; i < before.length; i++) {
+            assertEquals(before[i] / 2, strategy.getHistory(i >>> 6, i & 63), "Each search should halve the history.");
+        }
+    }
+
+    @Test
+    void testAlphaBetaStrategyAvoidsLosingItsPiece() {
+        Board board = emptyBoard();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(4);
+        Player blackPlayer = new Player("Black", strategy);
+
+        // Moving to (3, 2) lets White jump from (4, 1) and win; (3, 4) is safe
+        board.placePieceAt(2, 3, new RegularPiece("Black"));
+        board.placePieceAt(4, 1, new RegularPiece("White"));
+
+        Move move = strategy.decideMove(board, blackPlayer);
+
+        assertNotNull(move, "A move should be selected.");
+        assertEquals(new Move(2, 3, 3, 4, false), move, "The search should see the capture and avoid it.");
+    }
+
+    @Test
+    void testAlphaBetaStrategyReportsSearchStatistics() {
+        Board board = new Board();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(5);
+        Player blackPlayer = new Player("Black", strategy);
+        long hashBefore = board.getHash();
+
+        Move move = strategy.decideMove(board, blackPlayer);
+
+        assertTrue(board.getValidMoves(blackPlayer).contains(move), "The chosen move should be valid.");
+        assertEquals(hashBefore, board.getHash(), "Searching should not modify the board.");
+        assertEquals(5, strategy.getLastDepth(), "The full depth should be searched without a time limit.");
+        assertTrue(strategy.getLastNodes() > 0, "The search should count the positions it visits.");
+        assertTrue(strategy.getNodesPerSecond() > 0, "The search speed should be reported.");
+    }
+
+    @Test
+    void testAlphaBetaStrategyRespectsTimeLimit() {
+        Board board = new Board();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(60, 50, new MaterialEvaluator());
+        Player whitePlayer = new Player("White", strategy);
+
+        long start = System.nanoTime();
+        Move move = strategy.decideMove(board, whitePlayer);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(move, "A move should be selected even when the search is cut short.");
+        assertTrue(elapsedMillis < 1000, "The search should stop close to its time limit.");
+        assertTrue(strategy.getLastDepth() < 60, "A time-limited search should not reach depth 60.");
+    }
+
+    @Test
+    void testAlphaBetaStrategyRespectsSearchLimits() {
+        Board board = new Board();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(8);
+        Player blackPlayer = new Player("Black", strategy);
+
+        Move move = strategy.decideMove(board, blackPlayer, SearchLimits.none().withMaxDepth(3));
+        assertTrue(board.getValidMoves(blackPlayer).contains(move), "The chosen move should be valid.");
+        assertEquals(3, strategy.getLastDepth(), "The depth limit should cap the strategy's own depth.");
+
+        move = strategy.decideMove(board, blackPlayer, SearchLimits.none().withMaxNodes(500));
+        assertTrue(board.getValidMoves(blackPlayer).contains(move), "A move should be chosen when the nodes run out.");
+        assertTrue(strategy.getLastNodes() <= 501, "The search should stop at its node limit.");
+        assertTrue(strategy.getLastDepth() < 8, "A node-limited search should not reach depth 8.");
+    }
+
+    @Test
+    void testAlphaBetaStrategyStopsWhenAsked() throws InterruptedException {
+        Board board = new Board();
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(60);
+        Player blackPlayer = new Player("Black", strategy);
+        SearchLimits limits = SearchLimits.none();
+
+        Thread stopper = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            limits.stop();
+        });
+        long start = System.nanoTime();
+        stopper.start();
+        Move move = strategy.decideMove(board, blackPlayer, limits);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        stopper.join();
+
+        assertNotNull(move, "A move should be selected when the search is stopped.");
+        assertTrue(elapsedMillis < 1000, "The search should stop soon after it is asked to.");
+    }
+}
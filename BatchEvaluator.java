@@ -0,0 +1,19 @@
+package upei.project;
+
+/**
+ * The BatchEvaluator interface scores all the children of a position in one call.
+ * Implementations loop over the mask arrays of a {@link PositionBatch}, which keeps the loop
+ * free of objects and calls, so the JIT can compile it into a tight loop.
+ * Higher scores are better for the given side.
+ */
+public interface BatchEvaluator {
+    /**
+     * Scores every position of a batch from one side's point of view.
+     *
+     * @param batch the positions to score.
+     * @param forBlack true to score for Black, false for White.
+     * @param scores receives the score of each position, in batch order; it must hold at least
+     *               {@link PositionBatch#size()} entries.
+     */
+    void evaluate(PositionBatch batch, boolean forBlack, int[] scores);
+}
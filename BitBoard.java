@@ -0,0 +1,628 @@
+package upei.project;
+
+/**
+ * The BitBoard class is the engine behind {@link Board}.
+ * The position is held in three 64-bit masks (Black pieces, White pieces and kings),
+ * one bit per square with index {@code row * 8 + col}. This class holds the only move
+ * generator in the game: moves are looked up in per-square neighbour and jump tables
+ * computed once when the class loads, and {@link Board}, {@link Player} and the
+ * {@link Piece} classes all get their moves from it.
+ * The bitboard also tracks the side to move and keeps a Zobrist hash of the position
+ * up to date on every change.
+ */
+public class BitBoard {
+    // Piece codes returned by pieceAt: a colour bit, optionally combined with the king bit.
+    public static final int EMPTY = 0;
+    public static final int BLACK = 1;
+    public static final int WHITE = 2;
+    public static final int KING = 4;
+
+    // Layout of the undo record returned by makeMove: the previous occupant of the destination
+    // in bits 0-2, two flags, then three bits per captured piece in square order (up to nine).
+    private static final int UNDO_CODE_MASK = 0x7;
+    private static final int UNDO_PROMOTED = 1 << 3;
+    private static final int UNDO_NOTHING_MOVED = 1 << 4;
+    private static final int UNDO_CAPTURED_SHIFT = 5;
+
+    // Squares a piece can leave towards a lower/higher column without wrapping to the next row.
+    private static final long NOT_FIRST_COL = 0xFEFEFEFEFEFEFEFEL;      // col >= 1
+    private static final long NOT_LAST_COL = 0x7F7F7F7F7F7F7F7FL;       // col <= 6
+    private static final long NOT_FIRST_TWO_COLS = 0xFCFCFCFCFCFCFCFCL; // col >= 2
+    private static final long NOT_LAST_TWO_COLS = 0x3F3F3F3F3F3F3F3FL;  // col <= 5
+
+    // Diagonal directions in generation order: up-left, up-right, down-left, down-right.
+    // Black men use directions 2..3 (down the board), White men 0..1, kings all four.
+    private static final int[] DELTAS = {-9, -7, 7, 9};
+    private static final long[] STEP_MASKS = {NOT_FIRST_COL, NOT_LAST_COL, NOT_FIRST_COL, NOT_LAST_COL};
+    private static final long[] JUMP_MASKS = {NOT_FIRST_TWO_COLS, NOT_LAST_TWO_COLS, NOT_FIRST_TWO_COLS, NOT_LAST_TWO_COLS};
+
+    // Square reached by a step, and landing square of a jump, indexed by [direction][square];
+    // -1 where the move would leave the board.
+    private static final int[][] NEIGHBORS = new int[4][64];
+    private static final int[][] JUMPS = new int[4][64];
+
+    static {
+        int[] rowSteps = {-1, -1, 1, 1};
+        int[] colSteps = {-1, 1, -1, 1};
+        for (int dir = 0; dir < 4; dir++) {
+            for (int square = 0; square < 64; square++) {
+                int row = square >>> 3;
+                int col = square & 7;
+                NEIGHBORS[dir][square] = squareOrNone(row + rowSteps[dir], col + colSteps[dir]);
+                JUMPS[dir][square] = squareOrNone(row + 2 * rowSteps[dir], col + 2 * colSteps[dir]);
+            }
+        }
+    }
+
+    private long black; // Squares holding a Black piece
+    private long white; // Squares holding a White piece
+    private long kings; // Squares holding a king of either colour
+    private boolean whiteToMove; // Flipped by every executed move
+    private long hash; // Zobrist hash of the pieces and side to move
+
+    /**
+     * Creates an empty bitboard.
+     */
+    public BitBoard() {
+    }
+
+    /**
+     * Creates a copy of another bitboard.
+     *
+     * @param other the bitboard to copy.
+     */
+    private BitBoard(BitBoard other) {
+        this.black = other.black;
+        this.white = other.white;
+        this.kings = other.kings;
+        this.whiteToMove = other.whiteToMove;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Converts a row and column into a square index.
+     *
+     * @param row the row index (0-7).
+     * @param col the column index (0-7).
+     * @return the square index (0-63).
+     */
+    public static int square(int row, int col) {
+        return (row << 3) | col;
+    }
+
+    /**
+     * Gets the square index for a row and column, or -1 if they are off the board.
+     */
+    private static int squareOrNone(int row, int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8 ? square(row, col) : -1;
+    }
+
+    /**
+     * Shifts a mask by a signed square delta; bits pushed past either end of the board are dropped.
+     */
+    private static long shift(long bits, int delta) {
+        return delta > 0 ? bits << delta : bits >>> -delta;
+    }
+
+    /**
+     * Gets the piece code at a square.
+     *
+     * @param square the square index (0-63).
+     * @return EMPTY, or BLACK/WHITE optionally combined with KING.
+     */
+    public int pieceAt(int square) {
+        long bit = 1L << square;
+        int code;
+        if ((black & bit) != 0) {
+            code = BLACK;
+        } else if ((white & bit) != 0) {
+            code = WHITE;
+        } else {
+            return EMPTY;
+        }
+        return (kings & bit) != 0 ? code | KING : code;
+    }
+
+    /**
+     * Sets the piece code at a square, replacing whatever was there.
+     *
+     * @param square the square index (0-63).
+     * @param code the piece code, or EMPTY to clear the square.
+     */
+    public void set(int square, int code) {
+        long bit = 1L << square;
+        hash ^= Zobrist.piece(pieceAt(square), square);
+        black &= ~bit;
+        white &= ~bit;
+        kings &= ~bit;
+        if ((code & BLACK) != 0) {
+            black |= bit;
+        } else if ((code & WHITE) != 0) {
+            white |= bit;
+        } else {
+            return;
+        }
+        if ((code & KING) != 0) {
+            kings |= bit;
+        }
+        hash ^= Zobrist.piece(pieceAt(square), square);
+    }
+
+    /**
+     * Replaces the whole position at once, keeping the side to move.
+     *
+     * @param black the mask of squares holding Black pieces.
+     * @param white the mask of squares holding White pieces.
+     * @param kings the mask of squares holding kings of either colour.
+     */
+    public void setPosition(long black, long white, long kings) {
+        if ((black & white) != 0 || (kings & ~(black | white)) != 0) {
+            throw new IllegalArgumentException("Every square holds at most one piece, and every king is a piece.");
+        }
+        this.black = black;
+        this.white = white;
+        this.kings = kings;
+        this.hash = computeHash();
+    }
+
+    /**
+     * Passes the move to the other side.
+     */
+    private void switchSide() {
+        whiteToMove = !whiteToMove;
+        hash ^= Zobrist.side();
+    }
+
+    /**
+     * Generates all valid moves for one side into a reusable buffer.
+     * If any capturing moves are available, only these moves are generated, and each
+     * capture continues jumping for as long as it can: every complete chain is one move.
+     *
+     * @param forBlack true to generate Black's moves, false for White's.
+     * @param buffer the buffer that receives the packed moves; it is cleared first.
+     * @return the number of moves generated.
+     */
+    public int generateMoves(boolean forBlack, MoveBuffer buffer) {
+        long own = forBlack ? black : white;
+        long opponent = forBlack ? white : black;
+        long empty = ~(black | white);
+        buffer.clear();
+
+        int colour = forBlack ? BLACK : WHITE;
+
+        // Captures first: they are the only legal moves when any exist
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int code = (kings >>> from & 1) != 0 ? colour | KING : colour;
+            addMoves(from, code, opponent, empty, false, true, buffer);
+        }
+        if (!buffer.isEmpty()) {
+            return buffer.size();
+        }
+
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int code = (kings >>> from & 1) != 0 ? colour | KING : colour;
+            addMoves(from, code, opponent, empty, true, false, buffer);
+        }
+        return buffer.size();
+    }
+
+    /**
+     * Appends the moves of a single piece to a buffer: plain moves and complete capture chains
+     * alike, without making captures mandatory. The piece code decides the colour and directions,
+     * so the starting square does not have to hold that piece.
+     *
+     * @param from the starting square.
+     * @param code the piece code (BLACK or WHITE, optionally combined with KING).
+     * @param buffer the buffer that receives the packed moves; it is not cleared.
+     * @return the number of moves in the buffer afterwards.
+     */
+    public int generatePieceMoves(int from, int code, MoveBuffer buffer) {
+        long opponent = (code & BLACK) != 0 ? white : black;
+        addMoves(from, code, opponent, ~(black | white), true, true, buffer);
+        return buffer.size();
+    }
+
+    /**
+     * Appends the moves of one piece, direction by direction, using the neighbour and jump tables.
+     * Within a direction a plain move comes before the captures that start with a jump that way.
+     *
+     * @param from the starting square.
+     * @param code the piece code, which decides the directions.
+     * @param opponent the squares holding opposing pieces.
+     * @param empty the empty squares.
+     * @param steps whether to add plain moves.
+     * @param captures whether to add captures.
+     * @param buffer the buffer that receives the packed moves.
+     */
+    private static void addMoves(int from, int code, long opponent, long empty,
+                                 boolean steps, boolean captures, MoveBuffer buffer) {
+        int first = firstDirection(code);
+        int last = lastDirection(code);
+        for (int dir = first; dir <= last; dir++) {
+            int to = NEIGHBORS[dir][from];
+            if (to < 0) {
+                continue;
+            }
+            if (steps && (empty >>> to & 1) != 0) {
+                buffer.add(MoveBuffer.pack(from, to, -1));
+            }
+            int landing = JUMPS[dir][from];
+            if (captures && landing >= 0 && (opponent >>> to & 1) != 0 && (empty >>> landing & 1) != 0) {
+                // The starting square is free to land on again once the piece has left it
+                addJumps(from, landing, code, opponent, empty | 1L << from, 1L << to, 1, dir, buffer);
+            }
+        }
+    }
+
+    /**
+     * Continues a capture depth-first from the square the piece has reached, appending one move
+     * for every chain that cannot jump any further. Jumped pieces stay on the board until the
+     * move is over, so they still block landing squares, but none can be jumped twice.
+     * The chain so far is carried in primitive arguments, so no memory is allocated.
+     *
+     * @param from the square the move started on.
+     * @param square the square the piece has reached.
+     * @param code the piece code, which decides the directions.
+     * @param opponent the squares holding opposing pieces.
+     * @param empty the empty squares, including the starting square.
+     * @param captured the squares jumped so far.
+     * @param jumps the number of jumps so far.
+     * @param directions the directions of the jumps so far, two bits each.
+     * @param buffer the buffer that receives the packed moves.
+     */
+    private static void addJumps(int from, int square, int code, long opponent, long empty,
+                                 long captured, int jumps, int directions, MoveBuffer buffer) {
+        boolean extended = false;
+        int first = firstDirection(code);
+        int last = lastDirection(code);
+        for (int dir = first; dir <= last; dir++) {
+            int over = NEIGHBORS[dir][square];
+            int landing = JUMPS[dir][square];
+            if (landing >= 0 && ((opponent & ~captured) >>> over & 1) != 0 && (empty >>> landing & 1) != 0) {
+                extended = true;
+                addJumps(from, landing, code, opponent, empty, captured | 1L << over,
+                        jumps + 1, directions | dir << (2 * jumps), buffer);
+            }
+        }
+        if (!extended) {
+            buffer.add(MoveBuffer.packCapture(from, jumps, directions));
+        }
+    }
+
+    /**
+     * Checks whether one side has at least one valid move, testing all pieces at once per direction.
+     *
+     * @param forBlack true to check Black, false for White.
+     * @return true if the side can move, false otherwise.
+     */
+    public boolean hasAnyMove(boolean forBlack) {
+        long own = forBlack ? black : white;
+        long opponent = forBlack ? white : black;
+        long empty = ~(black | white);
+        // Men only move down the board for Black and up the board for White; kings move both ways
+        long upMovers = forBlack ? own & kings : own;
+        long downMovers = forBlack ? own : own & kings;
+
+        for (int dir = 0; dir < 4; dir++) {
+            long movers = dir < 2 ? upMovers : downMovers;
+            if ((shift(movers & STEP_MASKS[dir], DELTAS[dir]) & empty) != 0) {
+                return true;
+            }
+            long jumped = shift(movers & JUMP_MASKS[dir], DELTAS[dir]) & opponent;
+            if ((shift(jumped, DELTAS[dir]) & empty) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the pieces of one side that the other side could capture with its next move,
+     * computed for all pieces at once per direction.
+     *
+     * @param forBlack true for Black's pieces, false for White's.
+     * @return a mask of the squares holding capturable pieces.
+     */
+    public long attackedPieces(boolean forBlack) {
+        long targets = forBlack ? black : white;
+        long attackers = forBlack ? white : black;
+        long empty = ~(black | white);
+        // Attacking men only jump in their forward directions; kings jump both ways
+        long upMovers = forBlack ? attackers : attackers & kings;
+        long downMovers = forBlack ? attackers & kings : attackers;
+
+        long attacked = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            long movers = dir < 2 ? upMovers : downMovers;
+            long jumped = shift(movers & JUMP_MASKS[dir], DELTAS[dir]) & targets;
+            attacked |= shift(shift(jumped, DELTAS[dir]) & empty, -DELTAS[dir]);
+        }
+        return attacked;
+    }
+
+    /**
+     * Counts the contacts of one side: for each of its pieces, the diagonal directions in which
+     * an opposing piece stands next to it with an empty square beyond. Direction of travel and
+     * piece kind are ignored, so this measures how engaged the pieces are rather than real captures.
+     *
+     * @param forBlack true to count Black's contacts, false for White's.
+     * @return the number of contacts.
+     */
+    public int countContacts(boolean forBlack) {
+        return countContacts(forBlack ? black : white, forBlack ? white : black);
+    }
+
+    /**
+     * Counts contacts as {@link #countContacts(boolean)} does, for a position given as masks.
+     *
+     * @param own the pieces whose contacts are counted.
+     * @param opponent the opposing pieces.
+     * @return the number of contacts.
+     */
+    static int countContacts(long own, long opponent) {
+        long empty = ~(own | opponent);
+        int contacts = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            long adjacent = shift(own & JUMP_MASKS[dir], DELTAS[dir]) & opponent;
+            contacts += Long.bitCount(shift(adjacent, DELTAS[dir]) & empty);
+        }
+        return contacts;
+    }
+
+    /**
+     * Gets the first direction index a piece may move in (kings and White men start at 0).
+     */
+    private static int firstDirection(int code) {
+        return (code & (KING | BLACK)) == BLACK ? 2 : 0;
+    }
+
+    /**
+     * Gets the last direction index a piece may move in (kings and Black men end at 3).
+     */
+    private static int lastDirection(int code) {
+        return (code & (KING | WHITE)) == WHITE ? 1 : 3;
+    }
+
+    /**
+     * Checks whether a piece moves in a direction: kings in all four, men only forwards.
+     *
+     * @param code the piece code.
+     * @param direction the direction index (0-3).
+     * @return true if the piece can step or jump that way.
+     */
+    static boolean movesInDirection(int code, int direction) {
+        return direction >= firstDirection(code) && direction <= lastDirection(code);
+    }
+
+    /**
+     * Gets the square one diagonal step away.
+     *
+     * @param direction the direction index (0-3).
+     * @param square the square to step from.
+     * @return the square reached, or -1 if the step leaves the board.
+     */
+    static int neighbor(int direction, int square) {
+        return NEIGHBORS[direction][square];
+    }
+
+    /**
+     * Moves whatever is on the starting square to the destination, removing a captured piece if given,
+     * and passes the move to the other side. No promotion is applied.
+     *
+     * @param from the starting square.
+     * @param to the destination square.
+     * @param captured the square of the captured piece, or -1 if the move is not a capture.
+     */
+    public void executeMove(int from, int to, int captured) {
+        executeMove(from, to, captured < 0 ? 0L : 1L << captured);
+    }
+
+    /**
+     * Moves whatever is on the starting square to the destination, removing all captured pieces,
+     * and passes the move to the other side. No promotion is applied.
+     *
+     * @param from the starting square.
+     * @param to the destination square.
+     * @param capturedSquares a mask of the squares whose pieces are captured, or 0.
+     */
+    public void executeMove(int from, int to, long capturedSquares) {
+        int code = pieceAt(from);
+        set(from, EMPTY);
+        removePieces(capturedSquares);
+        set(to, code);
+        switchSide();
+    }
+
+    /**
+     * Moves the piece on the starting square to the destination, removing a captured piece if given,
+     * and promotes it to a king when a Black piece reaches row 0 or a White piece reaches row 7.
+     * The move then passes to the other side. Nothing happens if the starting square is empty.
+     *
+     * @param from the starting square.
+     * @param to the destination square.
+     * @param captured the square of the captured piece, or -1 if the move is not a capture.
+     */
+    public void applyMove(int from, int to, int captured) {
+        applyMove(from, to, captured < 0 ? 0L : 1L << captured);
+    }
+
+    /**
+     * Moves the piece on the starting square to the destination, removing all captured pieces,
+     * with the same promotion rule as {@link #applyMove(int, int, int)}.
+     * The move then passes to the other side. Nothing happens if the starting square is empty.
+     *
+     * @param from the starting square.
+     * @param to the destination square.
+     * @param capturedSquares a mask of the squares whose pieces are captured, or 0.
+     */
+    public void applyMove(int from, int to, long capturedSquares) {
+        int code = pieceAt(from);
+        if (code == EMPTY) {
+            return;
+        }
+        set(from, EMPTY);
+        removePieces(capturedSquares);
+        set(to, code);
+
+        if ((crowningRow((code & BLACK) != 0) & (1L << to)) != 0) {
+            set(to, code | KING);
+        }
+        switchSide();
+    }
+
+    /**
+     * Gets the row on which applyMove crowns a side's pieces: row 0 for Black, row 7 for White.
+     *
+     * @param forBlack true for Black, false for White.
+     * @return a mask of the squares of that row.
+     */
+    static long crowningRow(boolean forBlack) {
+        return forBlack ? 0xFFL : 0xFFL << 56;
+    }
+
+    /**
+     * Removes the pieces on every square of a mask.
+     */
+    private void removePieces(long squares) {
+        for (; squares != 0; squares &= squares - 1) {
+            set(Long.numberOfTrailingZeros(squares), EMPTY);
+        }
+    }
+
+    /**
+     * Applies a packed move in place with the same rules as {@link #applyMove(int, int, long)}
+     * and returns an undo record that {@link #unmakeMove(int, int)} uses to roll it back.
+     * The undo record holds the captured pieces, the previous occupant of the destination,
+     * whether the piece was promoted, and whether anything moved at all.
+     *
+     * @param move the packed move.
+     * @return the undo record.
+     */
+    public int makeMove(int move) {
+        int from = MoveBuffer.from(move);
+        int to = MoveBuffer.to(move);
+        long captured = MoveBuffer.capturedSquares(move);
+        int code = pieceAt(from);
+        if (code == EMPTY) {
+            return UNDO_NOTHING_MOVED;
+        }
+
+        int undo = pieceAt(to);
+        int shift = UNDO_CAPTURED_SHIFT;
+        for (long squares = captured; squares != 0; squares &= squares - 1, shift += 3) {
+            undo |= pieceAt(Long.numberOfTrailingZeros(squares)) << shift;
+        }
+        applyMove(from, to, captured);
+        if ((code & KING) == 0 && (kings & (1L << to)) != 0) {
+            undo |= UNDO_PROMOTED;
+        }
+        return undo;
+    }
+
+    /**
+     * Rolls back a packed move made with {@link #makeMove(int)}.
+     * Moves must be unmade in the reverse order they were made.
+     *
+     * @param move the packed move.
+     * @param undo the undo record returned by makeMove.
+     */
+    public void unmakeMove(int move, int undo) {
+        if ((undo & UNDO_NOTHING_MOVED) != 0) {
+            return;
+        }
+        int from = MoveBuffer.from(move);
+        int to = MoveBuffer.to(move);
+
+        int code = pieceAt(to);
+        if ((undo & UNDO_PROMOTED) != 0) {
+            code &= ~KING;
+        }
+        set(to, undo & UNDO_CODE_MASK);
+        int shift = UNDO_CAPTURED_SHIFT;
+        for (long squares = MoveBuffer.capturedSquares(move); squares != 0; squares &= squares - 1, shift += 3) {
+            set(Long.numberOfTrailingZeros(squares), (undo >>> shift) & UNDO_CODE_MASK);
+        }
+        set(from, code);
+        switchSide();
+    }
+
+    /**
+     * Creates an independent copy of this bitboard.
+     *
+     * @return the copy.
+     */
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    /**
+     * Checks whose turn it is according to the moves executed on this bitboard.
+     *
+     * @return true if White is to move, false if Black is.
+     */
+    public boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    /**
+     * Sets whose turn it is, for positions that were set up by placing pieces.
+     *
+     * @param whiteToMove true if White is to move, false if Black is.
+     */
+    public void setWhiteToMove(boolean whiteToMove) {
+        if (this.whiteToMove != whiteToMove) {
+            switchSide();
+        }
+    }
+
+    /**
+     * Gets the Zobrist hash of the position, including the side to move.
+     *
+     * @return the hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the Zobrist hash from scratch, for checking the incrementally updated value.
+     *
+     * @return the hash of the current position.
+     */
+    long computeHash() {
+        long h = whiteToMove ? Zobrist.side() : 0L;
+        for (int square = 0; square < 64; square++) {
+            h ^= Zobrist.piece(pieceAt(square), square);
+        }
+        return h;
+    }
+
+    /**
+     * Gets the mask of squares holding Black pieces.
+     *
+     * @return the Black mask.
+     */
+    public long getBlack() {
+        return black;
+    }
+
+    /**
+     * Gets the mask of squares holding White pieces.
+     *
+     * @return the White mask.
+     */
+    public long getWhite() {
+        return white;
+    }
+
+    /**
+     * Gets the mask of squares holding kings of either colour.
+     *
+     * @return the king mask.
+     */
+    public long getKings() {
+        return kings;
+    }
+}
@@ -0,0 +1,168 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    @Test
+    void testSetAndPieceAt() {
+        BitBoard bits = new BitBoard();
+        int square = BitBoard.square(4, 5);
+
+        bits.set(square, BitBoard.WHITE | BitBoard.KING);
+        assertEquals(BitBoard.WHITE | BitBoard.KING, bits.pieceAt(square), "The square should hold a White king.");
+
+        bits.set(square, BitBoard.BLACK);
+        assertEquals(BitBoard.BLACK, bits.pieceAt(square), "Setting a square should replace the previous piece.");
+
+        bits.set(square, BitBoard.EMPTY);
+        assertEquals(BitBoard.EMPTY, bits.pieceAt(square), "The square should be empty after clearing.");
+        assertEquals(0L, bits.getBlack() | bits.getWhite() | bits.getKings(), "No bits should remain set.");
+    }
+
+    @Test
+    void testMovesDoNotWrapAroundEdges() {
+        BitBoard bits = new BitBoard();
+        // A Black man on the right edge can only move down-left
+        bits.set(BitBoard.square(2, 7), BitBoard.BLACK);
+
+        MoveBuffer moves = new MoveBuffer();
+        int count = bits.generateMoves(true, moves);
+
+        assertEquals(1, count, "Only one move should be generated from the edge.");
+        assertEquals(new Move(2, 7, 3, 6, false), MoveBuffer.toMove(moves.get(0)));
+    }
+
+    @Test
+    void testCapturesAreMandatory() {
+        BitBoard bits = new BitBoard();
+        bits.set(BitBoard.square(3, 3), BitBoard.BLACK);
+        bits.set(BitBoard.square(4, 4), BitBoard.WHITE);
+        bits.set(BitBoard.square(0, 1), BitBoard.BLACK);
+
+        MoveBuffer moves = new MoveBuffer();
+        int count = bits.generateMoves(true, moves);
+
+        assertEquals(1, count, "Only the capture should be generated.");
+        assertEquals(BitBoard.square(4, 4), MoveBuffer.captured(moves.get(0)), "The jumped square should be recorded.");
+        assertEquals(new Move(3, 3, 5, 5, true), MoveBuffer.toMove(moves.get(0)));
+    }
+
+    @Test
+    void testHasAnyMove() {
+        BitBoard bits = new BitBoard();
+        // A Black man on the bottom row cannot move, a White man on the top row cannot either
+        bits.set(BitBoard.square(7, 0), BitBoard.BLACK);
+        bits.set(BitBoard.square(0, 7), BitBoard.WHITE);
+        assertFalse(bits.hasAnyMove(true), "A Black man on the last row should have no moves.");
+        assertFalse(bits.hasAnyMove(false), "A White man on the first row should have no moves.");
+
+        // Kings can move backwards
+        bits.set(BitBoard.square(7, 0), BitBoard.BLACK | BitBoard.KING);
+        assertTrue(bits.hasAnyMove(true), "A Black king should be able to move up the board.");
+
+        // A blocked man can still move by capturing
+        bits.set(BitBoard.square(2, 2), BitBoard.WHITE);
+        bits.set(BitBoard.square(1, 1), BitBoard.BLACK);
+        bits.set(BitBoard.square(1, 3), BitBoard.BLACK);
+        assertTrue(bits.hasAnyMove(false), "A White man should be able to capture.");
+    }
+
+    @Test
+    void testApplyMovePromotesAndCopyIsIndependent() {
+        BitBoard bits = new BitBoard();
+        bits.set(BitBoard.square(6, 1), BitBoard.WHITE);
+        BitBoard copy = bits.copy();
+
+        bits.applyMove(BitBoard.square(6, 1), BitBoard.square(7, 2), -1);
+
+        assertEquals(BitBoard.WHITE | BitBoard.KING, bits.pieceAt(BitBoard.square(7, 2)),
+                "A White piece reaching row 7 should be promoted.");
+        assertEquals(BitBoard.WHITE, copy.pieceAt(BitBoard.square(6, 1)), "The copy should not change.");
+    }
+
+    @Test
+    void testHashIsUpdatedIncrementally() {
+        Board board = new Board();
+        Player blackPlayer = new Player("Black", new RandomStrategy());
+        Player whitePlayer = new Player("White", new RandomStrategy());
+        long startHash = board.getHash();
+
+        // Probe and play a few moves
+        MoveBuffer moves = new MoveBuffer();
+        for (int ply = 0; ply < 20; ply++) {
+            Player player = ply % 2 == 0 ? blackPlayer : whitePlayer;
+            if (board.generateMoves(player, moves) == 0) {
+                break;
+            }
+            int move = moves.get(ply % moves.size());
+            long before = board.getHash();
+
+            int undo = board.makeMove(move);
+            assertNotEquals(before, board.getHash(), "Making a move should change the hash.");
+            board.unmakeMove(move, undo);
+            assertEquals(before, board.getHash(), "Unmaking a move should restore the hash.");
+
+            board.executeMove(MoveBuffer.toMove(move));
+        }
+        assertNotEquals(startHash, board.getHash(), "The played position should hash differently.");
+
+        Board fresh = new Board();
+        assertEquals(startHash, fresh.getHash(), "Equal positions should have equal hashes.");
+        assertEquals(fresh.getHash(), fresh.copy().getHash(), "A copy should keep the hash.");
+    }
+
+    @Test
+    void testHashMatchesRecomputation() {
+        BitBoard bits = new BitBoard();
+        bits.set(BitBoard.square(5, 0), BitBoard.WHITE);
+        bits.set(BitBoard.square(6, 1), BitBoard.BLACK | BitBoard.KING);
+        bits.set(BitBoard.square(2, 3), BitBoard.BLACK);
+        assertEquals(bits.computeHash(), bits.getHash());
+
+        // Capture with promotion, then a plain move
+        bits.set(BitBoard.square(7, 2), BitBoard.EMPTY);
+        int undo = bits.makeMove(MoveBuffer.pack(BitBoard.square(5, 0), BitBoard.square(7, 2), BitBoard.square(6, 1)));
+        assertTrue(bits.isWhiteToMove(), "The move should pass to the other side.");
+        assertEquals(bits.computeHash(), bits.getHash(), "The hash should account for the capture and promotion.");
+
+        bits.executeMove(BitBoard.square(2, 3), BitBoard.square(3, 4), -1);
+        assertFalse(bits.isWhiteToMove(), "The move should pass back.");
+        assertEquals(bits.computeHash(), bits.getHash());
+        assertNotEquals(0, undo);
+    }
+
+    @Test
+    void testCaptureChainsAreOneMove() {
+        BitBoard bits = new BitBoard();
+        bits.set(BitBoard.square(0, 1), BitBoard.BLACK);
+        bits.set(BitBoard.square(1, 2), BitBoard.WHITE);
+        bits.set(BitBoard.square(3, 2), BitBoard.WHITE);
+        bits.set(BitBoard.square(3, 4), BitBoard.WHITE);
+
+        // After the first jump the piece can go on either way, so there are two complete chains
+        MoveBuffer moves = new MoveBuffer();
+        assertEquals(2, bits.generateMoves(true, moves), "Each complete chain should be one move.");
+        assertEquals(new Move(new int[]{BitBoard.square(0, 1), BitBoard.square(2, 3), BitBoard.square(4, 1)},
+                        1L << BitBoard.square(1, 2) | 1L << BitBoard.square(3, 2)),
+                MoveBuffer.toMove(moves.get(0)));
+        int chain = moves.get(1);
+        assertEquals(2, MoveBuffer.jumpCount(chain));
+        assertEquals(BitBoard.square(4, 5), MoveBuffer.to(chain));
+
+        long startHash = bits.getHash();
+        int undo = bits.makeMove(chain);
+        assertEquals(BitBoard.BLACK, bits.pieceAt(BitBoard.square(4, 5)), "The piece should land at the end of the chain.");
+        assertEquals(BitBoard.EMPTY, bits.pieceAt(BitBoard.square(1, 2)), "Both jumped pieces should be captured.");
+        assertEquals(BitBoard.EMPTY, bits.pieceAt(BitBoard.square(3, 4)), "Both jumped pieces should be captured.");
+        assertEquals(BitBoard.WHITE, bits.pieceAt(BitBoard.square(3, 2)), "Pieces off the path should stay.");
+        assertEquals(bits.computeHash(), bits.getHash());
+
+        bits.unmakeMove(chain, undo);
+        assertEquals(startHash, bits.getHash(), "Unmaking should restore the position.");
+        assertEquals(BitBoard.WHITE, bits.pieceAt(BitBoard.square(3, 4)), "The captured pieces should be restored.");
+        assertEquals(BitBoard.BLACK, bits.pieceAt(BitBoard.square(0, 1)));
+    }
+}
@@ -1,24 +1,53 @@
 package upei.project;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The Board class represents the 8x8 grid used in the game of Checkers.
  * It handles the initialization of the board, placement of pieces, and
- * provides utility methods to interact with the board.
+ * provides utility methods to interact with the board. The position itself
+ * is stored in a {@link BitBoard}.
  */
 public class Board {
-    // The 8x8 grid where each cell holds a Piece or is null if empty.
-    private final Piece[][] grid;
+    // The bitboard engine holding the actual position; this class is a view over it.
+    private final BitBoard bits;
 
     /**
      * Constructor for the Board class.
      * Initializes an empty 8x8 grid and sets up the initial positions of the pieces.
      */
     public Board() {
-        grid = new Piece[8][8]; // Create an 8x8 grid
-        initializePieces();     // Place pieces in their starting positions
+        bits = new BitBoard(); // Create an empty 8x8 board
+        initializePieces();    // Place pieces in their starting positions
+    }
+
+    /**
+     * Creates a board over an existing bitboard, without placing the starting pieces.
+     *
+     * @param bits the bitboard holding the position.
+     */
+    Board(BitBoard bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Creates a board from a position in FEN, such as {@code B:W21-32:B1-12} for the start.
+     * The side to move is set on the board's bitboard; see {@link Pdn} for the notation.
+     *
+     * @param fen the position.
+     * @return the board.
+     */
+    public static Board fromFen(String fen) {
+        return Pdn.parseFen(fen);
+    }
+
+    /**
+     * Writes the position in FEN, with the side to move of the board's bitboard.
+     *
+     * @return the position.
+     */
+    public String toFen() {
+        return Pdn.toFen(this);
     }
 
     /**
@@ -31,7 +60,7 @@ public class Board {
             for (int col = 0; col < 8; col++) {
                 // Pieces only occupy dark squares (odd indices in even rows, even indices in odd rows)
                 if ((row + col) % 2 == 1) {
-                    grid[row][col] = new RegularPiece("Black");
+                    bits.set(BitBoard.square(row, col), BitBoard.BLACK);
                 }
             }
         }
@@ -40,7 +69,7 @@ public class Board {
         for (int row = 5; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
                 if ((row + col) % 2 == 1) {
-                    grid[row][col] = new RegularPiece("White");
+                    bits.set(BitBoard.square(row, col), BitBoard.WHITE);
                 }
             }
         }
@@ -58,7 +87,7 @@ public class Board {
         if (x < 0 || x >= 8 || y < 0 || y >= 8) {
             throw new IllegalArgumentException("Coordinates out of bounds.");
         }
-        return grid[x][y];
+        return Piece.fromCode(bits.pieceAt(BitBoard.square(x, y)));
     }
 
     /**
@@ -73,7 +102,7 @@ public class Board {
         if (x < 0 || x >= 8 || y < 0 || y >= 8) {
             throw new IllegalArgumentException("Coordinates out of bounds.");
         }
-        grid[x][y] = piece;
+        bits.set(BitBoard.square(x, y), codeOf(piece));
     }
 
     /**
@@ -84,12 +113,38 @@ public class Board {
      * @return the Piece that was removed, or null if the cell was already empty.
      */
     public Piece removePieceAt(int x, int y) {
+        Piece removedPiece = getPieceAt(x, y);
+        bits.set(BitBoard.square(x, y), BitBoard.EMPTY); // Clear the cell
+        return removedPiece;
+    }
+
+    /**
+     * Gets the moves a piece could make from the given position, plain moves and captures alike,
+     * without making captures mandatory. The piece does not have to be on the board.
+     *
+     * @param piece the piece to move.
+     * @param x the row index (0-7).
+     * @param y the column index (0-7).
+     * @return the moves in direction order.
+     */
+    public List<Move> getPieceMoves(Piece piece, int x, int y) {
+        // Ensure the coordinates are within the board's bounds
         if (x < 0 || x >= 8 || y < 0 || y >= 8) {
             throw new IllegalArgumentException("Coordinates out of bounds.");
         }
-        Piece removedPiece = grid[x][y];
-        grid[x][y] = null; // Clear the cell
-        return removedPiece;
+        MoveBuffer buffer = new MoveBuffer();
+        bits.generatePieceMoves(BitBoard.square(x, y), codeOf(piece), buffer);
+        return buffer.toList();
+    }
+
+    /**
+     * Converts a piece into its bitboard code.
+     *
+     * @param piece the piece, or null for an empty cell.
+     * @return the BitBoard piece code.
+     */
+    private static int codeOf(Piece piece) {
+        return piece == null ? BitBoard.EMPTY : piece.getCode();
     }
 
     /**
@@ -98,15 +153,17 @@ public class Board {
     public void printBoard() {
         for (int row = 0; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
-                if (grid[row][col] == null) {
+                Piece piece = Piece.fromCode(bits.pieceAt(BitBoard.square(row, col)));
+                if (piece == null) {
                     System.out.print(". "); // Empty cell
                 } else {
-                    System.out.print(grid[row][col].getSymbol() + " ");
+                    System.out.print(piece.getSymbol() + " ");
                 }
             }
             System.out.println(); // Move to the next row
         }
     }
+
     /**
      * Computes all valid moves for the given player.
      * If any capturing moves are available, only these moves will be returned.
@@ -115,176 +172,197 @@ public class Board {
      * @return a list of valid moves for the player.
      */
     public List<Move> getValidMoves(Player player) {
-        List<Move> validMoves = new ArrayList<>();
-        List<Move> capturingMoves = new ArrayList<>();
-        String color = player.getColor();
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = getPieceAt(row, col);
-                if (piece != null && piece.getPlayerColor().equals(color)) {
-                    // Add all valid moves for this piece
-                    for (Move move : getMovesForPiece(row, col)) {
-                        if (move.isCapture()) {
-                            capturingMoves.add(move);
-                        } else {
-                            validMoves.add(move);
-                        }
-                    }
-                }
-            }
-        }
-        return !capturingMoves.isEmpty() ? capturingMoves : validMoves; // Prioritize captures
+        MoveBuffer buffer = new MoveBuffer();
+        generateMoves(player, buffer);
+        return buffer.toList();
     }
 
-
-
-
     /**
-     * Computes all valid moves for a specific piece on the board.
+     * Generates all valid moves for the given player into a reusable buffer of packed moves.
+     * If any capturing moves are available, only these moves are generated.
      *
-     * @param startX the row index of the piece.
-     * @param startY the column index of the piece.
-     * @return a list of valid moves for the piece.
+     * @param player the player whose moves are being generated.
+     * @param buffer the buffer that receives the moves; it is cleared first.
+     * @return the number of moves generated.
      */
-    private List<Move> getMovesForPiece(int startX, int startY) {
-        List<Move> moves = new ArrayList<>();
-        Piece piece = getPieceAt(startX, startY);
-
-        if (piece == null) {
-            return moves; // No piece to move
-        }
-
-        if (piece instanceof KingPiece) {
-            // King pieces can move in all four diagonal directions
-            int[][] directions = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
-            for (int[] dir : directions) {
-                // Single-step move
-                addMoveIfValid(moves, startX, startY, startX + dir[0], startY + dir[1], false);
-                // Capture move (jump over an opponent)
-                addMoveIfValid(moves, startX, startY, startX + 2 * dir[0], startY + 2 * dir[1], true);
-            }
-        } else {
-            // Regular pieces move in one direction based on their color
-            int direction = piece.getPlayerColor().equals("Black") ? 1 : -1; // Black moves down, White moves up
+    public int generateMoves(Player player, MoveBuffer buffer) {
+        return bits.generateMoves(player.isBlack(), buffer);
+    }
 
-            // Check basic diagonal moves
-            addMoveIfValid(moves, startX, startY, startX + direction, startY - 1, false);
-            addMoveIfValid(moves, startX, startY, startX + direction, startY + 1, false);
+    /**
+     * Checks whether the pieces of the given color have at least one valid move.
+     * This is much cheaper than generating the moves when only emptiness matters.
+     *
+     * @param color the color to check ("Black" or "White").
+     * @return true if the color can move, false otherwise.
+     */
+    public boolean hasAnyMove(String color) {
+        return hasAnyMove(PieceColor.fromName(color));
+    }
 
-            // Check capturing moves (jump over an opponent)
-            addMoveIfValid(moves, startX, startY, startX + 2 * direction, startY - 2, true);
-            addMoveIfValid(moves, startX, startY, startX + 2 * direction, startY + 2, true);
-        }
+    /**
+     * Checks whether the pieces of the given color have at least one valid move.
+     *
+     * @param color the color to check.
+     * @return true if the color can move, false otherwise.
+     */
+    public boolean hasAnyMove(PieceColor color) {
+        return bits.hasAnyMove(color == PieceColor.BLACK);
+    }
 
-        return moves;
+    /**
+     * Counts the pieces of the given color. Counts come straight from the bitboard masks,
+     * so they cost the same however many pieces are on the board.
+     *
+     * @param color the color to count.
+     * @return the number of pieces of that color.
+     */
+    public int getPieceCount(PieceColor color) {
+        return Long.bitCount(colorMask(color));
     }
 
     /**
-     * Adds a move to the list if it is valid.
+     * Counts the regular pieces (men) of the given color.
      *
-     * @param moves the list of valid moves.
-     * @param startX the row index of the starting position.
-     * @param startY the column index of the starting position.
-     * @param endX the row index of the ending position.
-     * @param endY the column index of the ending position.
-     * @param isCapture whether the move is a capturing move.
+     * @param color the color to count.
+     * @return the number of regular pieces of that color.
      */
-    private void addMoveIfValid(List<Move> moves, int startX, int startY, int endX, int endY, boolean isCapture) {
-        // Ensure the destination is within bounds
-        if (endX < 0 || endX >= 8 || endY < 0 || endY >= 8) {
-            return; // Out of bounds
-        }
+    public int getManCount(PieceColor color) {
+        return Long.bitCount(colorMask(color) & ~bits.getKings());
+    }
 
-        // Destination must be empty
-        if (getPieceAt(endX, endY) != null) {
-            return; // Destination is occupied
-        }
+    /**
+     * Counts the Kings of the given color.
+     *
+     * @param color the color to count.
+     * @return the number of Kings of that color.
+     */
+    public int getKingCount(PieceColor color) {
+        return Long.bitCount(colorMask(color) & bits.getKings());
+    }
 
-        // Check if the move is a capture
-        if (isCapture) {
-            int midX = (startX + endX) / 2;
-            int midY = (startY + endY) / 2;
-            Piece midPiece = getPieceAt(midX, midY);
+    /**
+     * Counts the pieces of the given color that the opponent could capture with its next move.
+     *
+     * @param color the color whose pieces are checked.
+     * @return the number of attacked pieces.
+     */
+    public int getAttackedCount(PieceColor color) {
+        return Long.bitCount(bits.attackedPieces(color == PieceColor.BLACK));
+    }
 
-            // Ensure there's an opponent piece to jump over
-            Piece startPiece = getPieceAt(startX, startY);
-            if (midPiece == null || startPiece == null || midPiece.getPlayerColor().equals(startPiece.getPlayerColor())) {
-                return; // No opponent piece to capture
-            }
-        }
+    /**
+     * Counts the threats the defensive strategy measures for the given color: for each piece,
+     * the diagonal directions with an opposing piece next to it and an empty square beyond.
+     *
+     * @param color the color whose pieces are checked.
+     * @return the number of threats.
+     */
+    public int getThreatCount(PieceColor color) {
+        return bits.countContacts(color == PieceColor.BLACK);
+    }
 
-        // Add the move to the list
-        moves.add(new Move(startX, startY, endX, endY, isCapture));
+    private long colorMask(PieceColor color) {
+        return color == PieceColor.BLACK ? bits.getBlack() : bits.getWhite();
     }
 
+    /**
+     * Executes a move on the board in one step, removing every piece it captures.
+     * The moved piece is not promoted.
+     *
+     * @param move the move to execute.
+     */
+    public void executeMove(Move move) {
+        bits.executeMove(BitBoard.square(move.getStartX(), move.getStartY()),
+                BitBoard.square(move.getEndX(), move.getEndY()), move.getCapturedSquares());
+    }
 
+    /**
+     * Creates an independent copy of the board.
+     *
+     * @return the copy.
+     */
+    public Board copy() {
+        return new Board(bits.copy());
+    }
 
-    public void executeMove(Move move) {
-        // Get the piece being moved
-        Piece piece = getPieceAt(move.getStartX(), move.getStartY());
+    /**
+     * Applies a move to the board, removing every captured piece and promoting the piece to a King
+     * if it reaches the opponent's side.
+     *
+     * @param move the move to apply.
+     */
+    public void applyMove(Move move) {
+        bits.applyMove(BitBoard.square(move.getStartX(), move.getStartY()),
+                BitBoard.square(move.getEndX(), move.getEndY()), move.getCapturedSquares());
+    }
 
-        // Clear the starting position
-        grid[move.getStartX()][move.getStartY()] = null;
+    /**
+     * Makes a move in place, with the same rules as {@link #applyMove(Move)}, and returns
+     * an undo record so that the move can be rolled back without copying the board.
+     *
+     * @param move the move to make.
+     * @return the undo record to pass to {@link #unmakeMove(Move, int)}.
+     */
+    public int makeMove(Move move) {
+        return bits.makeMove(MoveBuffer.pack(move));
+    }
 
-        // If the move is a capture, remove the captured piece
-        if (move.isCapture()) {
-            int midX = (move.getStartX() + move.getEndX()) / 2;
-            int midY = (move.getStartY() + move.getEndY()) / 2;
-            grid[midX][midY] = null; // Remove the captured piece
-        }
+    /**
+     * Makes a packed move in place and returns an undo record.
+     *
+     * @param move the packed move to make.
+     * @return the undo record to pass to {@link #unmakeMove(int, int)}.
+     */
+    public int makeMove(int move) {
+        return bits.makeMove(move);
+    }
 
-        // Place the piece at the destination
-        grid[move.getEndX()][move.getEndY()] = piece;
+    /**
+     * Rolls back a move made with {@link #makeMove(Move)}.
+     * Moves must be unmade in the reverse order they were made.
+     *
+     * @param move the move to roll back.
+     * @param undo the undo record returned by makeMove.
+     */
+    public void unmakeMove(Move move, int undo) {
+        bits.unmakeMove(MoveBuffer.pack(move), undo);
     }
-    public Board copy() {
-        Board newBoard = new Board();
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = this.getPieceAt(row, col);
-                if (piece != null) {
-                    newBoard.placePieceAt(row, col, piece.copy());
-                } else {
-                    newBoard.placePieceAt(row, col, null);
-                }
-            }
-        }
-        return newBoard;
+
+    /**
+     * Rolls back a packed move made with {@link #makeMove(int)}.
+     *
+     * @param move the packed move to roll back.
+     * @param undo the undo record returned by makeMove.
+     */
+    public void unmakeMove(int move, int undo) {
+        bits.unmakeMove(move, undo);
     }
 
-    public void applyMove(Move move) {
-        Piece piece = this.getPieceAt(move.getStartX(), move.getStartY());
-        if (piece != null) {
-            this.placePieceAt(move.getEndX(), move.getEndY(), piece);
-            this.placePieceAt(move.getStartX(), move.getStartY(), null);
-
-            // Handle capturing
-            if (move.isCapture()) {
-                int capturedRow = (move.getStartX() + move.getEndX()) / 2;
-                int capturedCol = (move.getStartY() + move.getEndY()) / 2;
-                this.placePieceAt(capturedRow, capturedCol, null);
-            }
+    /**
+     * Gets the Zobrist hash of the current position, including the side to move.
+     * The hash is updated incrementally by every change to the board.
+     *
+     * @return the position hash.
+     */
+    public long getHash() {
+        return bits.getHash();
+    }
 
-            // Promote to King if it reaches the opponent's side
-            if (move.getEndX() == 0 && piece.getPlayerColor().equalsIgnoreCase("Black")) {
-                this.placePieceAt(move.getEndX(), move.getEndY(), new KingPiece(piece.getPlayerColor()));
-            } else if (move.getEndX() == 8 - 1 && piece.getPlayerColor().equalsIgnoreCase("White")) {
-                this.placePieceAt(move.getEndX(), move.getEndY(), new KingPiece(piece.getPlayerColor()));
-            }
-        }
+    /**
+     * Gets the bitboard holding this board's position, for engines that work on the masks directly.
+     * Changes made through the bitboard are visible through this board.
+     *
+     * @return the underlying bitboard.
+     */
+    public BitBoard getBitBoard() {
+        return bits;
     }
+
     public int getSize() {
         return 8; // Assuming the board size is stored in a field `size`
     }
     public boolean isWithinBounds(int row, int col) {
         return row >= 0 && row < 8 && col >= 0 && col < 8;
     }
-
-
-
-
-
-
-
 }
-
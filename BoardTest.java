@@ -68,4 +68,70 @@ class BoardTest {
         assertThrows(IllegalArgumentException.class, () -> board.getPieceAt(-1, 0));
         assertThrows(IllegalArgumentException.class, () -> board.placePieceAt(8, 0, new RegularPiece("White")));
     }
+
+    @Test
+    void testMakeAndUnmakeMoveRestoresBoard() {
+        Board board = new Board();
+        // White man about to capture a Black king and land on row 7, where it is promoted
+        board.removePieceAt(7, 2);
+        board.placePieceAt(5, 0, new RegularPiece("White"));
+        board.placePieceAt(6, 1, new KingPiece("Black"));
+        Move capture = new Move(5, 0, 7, 2, true);
+
+        int undo = board.makeMove(capture);
+        assertNull(board.getPieceAt(6, 1), "The captured piece should be removed.");
+        assertEquals('Q', board.getPieceAt(7, 2).getSymbol(), "The White piece should be promoted.");
+
+        board.unmakeMove(capture, undo);
+        assertEquals('W', board.getPieceAt(5, 0).getSymbol(), "The piece should be back and no longer a King.");
+        assertEquals('K', board.getPieceAt(6, 1).getSymbol(), "The captured King should be restored.");
+        assertNull(board.getPieceAt(7, 2), "The destination should be empty again.");
+    }
+
+    @Test
+    void testExecuteMoveCapturesWholeChain() {
+        Board board = new Board();
+        board.placePieceAt(3, 2, new RegularPiece("White"));
+        board.removePieceAt(6, 5);
+        Player blackPlayer = new Player("Black", new RandomStrategy());
+
+        Move chain = new Move(new int[]{BitBoard.square(2, 1), BitBoard.square(4, 3), BitBoard.square(6, 5)},
+                1L << BitBoard.square(3, 2) | 1L << BitBoard.square(5, 4));
+        assertTrue(board.getValidMoves(blackPlayer).contains(chain), "The double jump should be offered as one move.");
+
+        board.executeMove(chain);
+        assertEquals('B', board.getPieceAt(6, 5).getSymbol(), "The piece should land at the end of the chain.");
+        assertNull(board.getPieceAt(2, 1), "The starting square should be empty.");
+        assertNull(board.getPieceAt(3, 2), "The first jumped piece should be captured.");
+        assertNull(board.getPieceAt(5, 4), "The second jumped piece should be captured.");
+    }
+
+    @Test
+    void testPiecesAreSharedInstances() {
+        Board board = new Board();
+        Piece piece = board.getPieceAt(0, 1);
+
+        assertSame(piece, board.getPieceAt(1, 0), "Pieces of the same color and kind should be one instance.");
+        assertSame(piece, board.copy().getPieceAt(0, 1), "A copied board should hand out the same instances.");
+        assertSame(piece, piece.copy(), "Copying an immutable piece should return it.");
+        assertSame(Piece.of(PieceColor.BLACK, true), piece.promote(), "Promotion should give the shared King.");
+    }
+
+    @Test
+    void testMaterialAndThreatCounts() {
+        Board board = new Board();
+        assertEquals(12, board.getPieceCount(PieceColor.BLACK), "Black starts with twelve pieces.");
+        assertEquals(0, board.getKingCount(PieceColor.WHITE), "No side starts with Kings.");
+        assertEquals(0, board.getAttackedCount(PieceColor.BLACK), "Nothing can be captured at the start.");
+
+        // A White King next to a Black piece with an empty square behind it
+        board.placePieceAt(3, 2, new KingPiece("White"));
+        assertEquals(13, board.getPieceCount(PieceColor.WHITE));
+        assertEquals(12, board.getManCount(PieceColor.WHITE));
+        assertEquals(1, board.getKingCount(PieceColor.WHITE));
+        assertEquals(0, board.getAttackedCount(PieceColor.BLACK), "Black pieces behind the King are backed up.");
+        assertEquals(1, board.getAttackedCount(PieceColor.WHITE), "Black can jump the King.");
+        assertEquals(2, board.getThreatCount(PieceColor.BLACK),
+                "Two Black pieces touch the King with an empty square beyond it.");
+    }
 }
@@ -0,0 +1,22 @@
+package upei.project;
+
+/**
+ * CaptureEvaluator scores positions by the material the move into them captured:
+ * 3 points for every king and 1 for every regular piece taken from the opponent.
+ */
+public class CaptureEvaluator implements BatchEvaluator {
+    private static final int MAN_VALUE = 1;
+    private static final int KING_VALUE = 3;
+
+    @Override
+    public void evaluate(PositionBatch batch, boolean forBlack, int[] scores) {
+        long[] opponentAfter = forBlack ? batch.whiteMasks() : batch.blackMasks();
+        long opponentBefore = forBlack ? batch.getParentWhite() : batch.getParentBlack();
+        long kingsBefore = batch.getParentKings();
+        int size = batch.size();
+        for (int i = 0; i < size; i++) {
+            long captured = opponentBefore & ~opponentAfter[i];
+            scores[i] = Long.bitCount(captured & ~kingsBefore) * MAN_VALUE + Long.bitCount(captured & kingsBefore) * KING_VALUE;
+        }
+    }
+}
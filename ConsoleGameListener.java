@@ -0,0 +1,68 @@
+package upei.project;
+
+/**
+ * ConsoleGameListener prints game, simulation and strategy events to standard output,
+ * including the board after every move. Attach it to a game to follow play move by move.
+ */
+public class ConsoleGameListener implements GameListener {
+
+    @Override
+    public void onSimulationGame(int gameNumber, int numberOfGames) {
+        System.out.println("Game " + gameNumber + " of " + numberOfGames);
+    }
+
+    @Override
+    public void onGameStart(Board board) {
+        System.out.println("Starting the game...");
+        board.printBoard();
+    }
+
+    @Override
+    public void onTurnStart(Player player) {
+        System.out.println(player.getColor() + "'s turn!");
+    }
+
+    @Override
+    public void onTurnSkipped(Player player) {
+        System.out.println("No valid moves available. Turn skipped.");
+    }
+
+    @Override
+    public void onMoveExecuted(Player player, Move move, Board board) {
+        board.printBoard();
+    }
+
+    @Override
+    public void onDraw(String reason) {
+        System.out.println(reason);
+    }
+
+    @Override
+    public void onGameEnd(GameResult result) {
+        System.out.println(result);
+    }
+
+    @Override
+    public void onMovesGenerated(Player player, MoveBuffer moves) {
+        System.out.println("Valid Moves: ");
+        for (int i = 0; i < moves.size(); i++) {
+            System.out.println(MoveBuffer.toMove(moves.get(i)));
+        }
+    }
+
+    @Override
+    public void onMoveEvaluated(Player player, int move, int score) {
+        System.out.println("Move: " + MoveBuffer.toMove(move) + " Value: " + score);
+    }
+
+    @Override
+    public void onSearchCompleted(Player player, int depth, long nodes, long elapsedNanos) {
+        long nodesPerSecond = elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0;
+        System.out.println("Searched depth " + depth + ": " + nodes + " nodes, " + nodesPerSecond + " nodes/s");
+    }
+
+    @Override
+    public void onMoveChosen(Player player, int move) {
+        System.out.println("Chosen Move: " + MoveBuffer.toMove(move));
+    }
+}
@@ -1,13 +1,19 @@
 package upei.project;
 
-import java.util.List;
-
 /**
  * DefensiveStrategy focuses on minimizing risks for the player's pieces.
  * It prioritizes capturing moves and moves that keep the player's pieces safe from being captured.
+ * The risk of every move is scored in one pass by a {@link ThreatEvaluator}.
+ * An instance reuses its buffers between calls, so it should not be shared across threads.
  */
 public class DefensiveStrategy implements Strategy {
 
+    private final MoveBuffer moves = new MoveBuffer(); // Reused on every call to avoid allocating per turn
+    private final PositionBatch children = new PositionBatch();
+    private final BatchEvaluator riskEvaluator = new ThreatEvaluator();
+    private final int[] risks = new int[MoveBuffer.CAPACITY];
+    private GameListener listener = GameListener.NONE;
+
     /**
      * Decides the best defensive move for the player.
      *
@@ -18,43 +24,50 @@ public class DefensiveStrategy implements Strategy {
     @Override
     public Move decideMove(Board board, Player player) {
         // Step 1: Get all valid moves for the player
-        List<Move> validMoves = board.getValidMoves(player);
+        int count = board.generateMoves(player, moves);
 
-        if (validMoves.isEmpty()) {
+        if (count == 0) {
             return null; // No valid moves available
         }
 
-        // Step 2: Check for capturing moves
-        Move bestCaptureMove = getBestCaptureMove(validMoves, board, player);
-        if (bestCaptureMove != null) {
-            return bestCaptureMove; // Prioritize captures
+        // Step 2: Score the risk of the board state after every move at once
+        calculateRisks(board, player);
+
+        // Step 3: Check for capturing moves
+        int chosenMove = getBestCaptureMove(moves, player); // Prioritize captures
+
+        // Step 4: Evaluate risk for non-capturing moves
+        if (chosenMove < 0) {
+            chosenMove = getSafestMove(moves, player);
         }
 
-        // Step 3: Evaluate risk for non-capturing moves
-        return getSafestMove(validMoves, board, player);
+        listener.onMoveChosen(player, chosenMove);
+        return MoveBuffer.toMove(chosenMove);
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 
     /**
      * Finds the best capture move among the valid moves.
      * A "best" capture is one that minimizes the risk after the move.
      *
-     * @param validMoves List of valid moves for the player.
-     * @param board The current board state.
+     * @param validMoves Valid packed moves for the player.
      * @param player The current player.
-     * @return The best capture move, or null if no captures are available.
+     * @return The best packed capture move, or -1 if no captures are available.
      */
-    private Move getBestCaptureMove(List<Move> validMoves, Board board, Player player) {
-        Move bestCaptureMove = null;
+    private int getBestCaptureMove(MoveBuffer validMoves, Player player) {
+        int bestCaptureMove = -1;
         int minimumRisk = Integer.MAX_VALUE;
 
-        for (Move move : validMoves) {
-            if (move.isCapture()) {
-                // Simulate the board state after the capture
-                Board simulatedBoard = board.copy();
-                simulatedBoard.executeMove(move);
+        for (int i = 0; i < validMoves.size(); i++) {
+            int move = validMoves.get(i);
+            if (MoveBuffer.isCapture(move)) {
+                int risk = risks[i];
+                listener.onMoveEvaluated(player, move, risk);
 
-                // Calculate the risk of the resulting board state
-                int risk = calculateRisk(simulatedBoard, player);
                 if (risk < minimumRisk) {
                     minimumRisk = risk;
                     bestCaptureMove = move;
@@ -67,22 +80,18 @@ public class DefensiveStrategy implements Strategy {
     /**
      * Finds the safest non-capturing move by minimizing risk.
      *
-     * @param validMoves List of valid moves for the player.
-     * @param board The current board state.
+     * @param validMoves Valid packed moves for the player.
      * @param player The current player.
-     * @return The safest move, or null if no valid moves exist.
+     * @return The safest packed move; validMoves must not be empty.
      */
-    private Move getSafestMove(List<Move> validMoves, Board board, Player player) {
-        Move safestMove = null;
+    private int getSafestMove(MoveBuffer validMoves, Player player) {
+        int safestMove = -1;
         int minimumRisk = Integer.MAX_VALUE;
 
-        for (Move move : validMoves) {
-            // Simulate the move on a copy of the board
-            Board simulatedBoard = board.copy();
-            simulatedBoard.executeMove(move);
-
-            // Calculate the risk for the simulated board state
-            int risk = calculateRisk(simulatedBoard, player);
+        for (int i = 0; i < validMoves.size(); i++) {
+            int move = validMoves.get(i);
+            int risk = risks[i];
+            listener.onMoveEvaluated(player, move, risk);
 
             // Keep track of the move with the least risk
             if (risk < minimumRisk) {
@@ -94,60 +103,18 @@ public class DefensiveStrategy implements Strategy {
     }
 
     /**
-     * Calculates the risk of the board state for the given player.
+     * Calculates the risk of the board state after each valid move for the given player:
+     * the number of opponent threats against the player's pieces (lower is better).
+     * The risks are stored in move order.
      *
-     * @param board  The simulated board after a move.
+     * @param board  The current board state.
      * @param player The player making the move.
-     * @return An integer representing the risk level (lower is better).
-     */
-    private int calculateRisk(Board board, Player player) {
-        int risk = 0;
-
-        for (int row = 0; row < board.getSize(); row++) {
-            for (int col = 0; col < board.getSize(); col++) {
-                Piece piece = board.getPieceAt(row, col);
-                if (piece != null && piece.getPlayerColor().equals(player.getColor())) {
-                    // Add risk based on the number of opponent threats
-                    int threats = countOpponentThreats(board, row, col, player);
-                    risk += threats;
-                }
-            }
-        }
-
-        return risk;
-    }
-
-    /**
-     * Counts the number of opponent pieces that threaten a given position.
-     *
-     * @param board  The board state.
-     * @param row    The row of the position being evaluated.
-     * @param col    The column of the position being evaluated.
-     * @param player The player owning the piece at the given position.
-     * @return The number of opponent pieces that can potentially capture the piece.
      */
-    private int countOpponentThreats(Board board, int row, int col, Player player) {
-        int threats = 0;
-
-        String opponentColor = player.getColor().equals("Black") ? "White" : "Black";
-        int[][] directions = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
-
-        for (int[] dir : directions) {
-            int opponentRow = row + dir[0];
-            int opponentCol = col + dir[1];
-
-            if (board.isWithinBounds(opponentRow, opponentCol)) {
-                Piece opponentPiece = board.getPieceAt(opponentRow, opponentCol);
-                if (opponentPiece != null && opponentPiece.getPlayerColor().equals(opponentColor)) {
-                    int jumpRow = opponentRow + dir[0];
-                    int jumpCol = opponentCol + dir[1];
-                    if (board.isWithinBounds(jumpRow, jumpCol) && board.getPieceAt(jumpRow, jumpCol) == null) {
-                        threats++;
-                    }
-                }
-            }
+    private void calculateRisks(Board board, Player player) {
+        int count = children.fill(board.getBitBoard(), moves);
+        riskEvaluator.evaluate(children, player.isBlack(), risks);
+        for (int i = 0; i < count; i++) {
+            risks[i] = -risks[i]; // The evaluator scores fewer threats higher
         }
-
-        return threats;
     }
 }
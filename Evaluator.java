@@ -0,0 +1,17 @@
+package upei.project;
+
+/**
+ * The Evaluator interface scores a board position for searching strategies.
+ * Higher scores are better for the given player; a score for one player should be
+ * the negation of the score for the other.
+ */
+public interface Evaluator {
+    /**
+     * Scores the board from the given player's point of view.
+     *
+     * @param board the position to score.
+     * @param player the player the score is for.
+     * @return the score; positive when the position favours the player.
+     */
+    int evaluate(Board board, Player player);
+}
@@ -1,7 +1,6 @@
 package upei.project;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * The Game class manages the overall flow of the Checkers game.
@@ -10,13 +9,26 @@ import java.util.Set;
 public class Game {
     private int movesWithoutCapture = 0; // Tracks consecutive non-capture moves
     private final int maxMovesWithoutCapture = 50; // Example threshold
-    private final Set<String> boardHistory = new HashSet<>();
+    // Zobrist hashes of the positions reached since the last capture; earlier positions had
+    // more pieces on the board, so they can never be repeated
+    private long[] boardHistory = new long[64];
+    private int boardHistorySize = 0;
 
 
     private final Board board;
     private final Player player1;
     private final Player player2;
     private Player currentPlayer; // Tracks whose turn it is.
+    private GameListener listener = GameListener.NONE; // Receives game events; silent by default
+    private GameClock clock; // Budgets the players' thinking time; null for untimed games
+    private Tablebase tablebase; // Decides endgames it covers; null to play every game out
+    private GameRecordSink recordSink; // Receives the record of the finished game; null to keep none
+    private GameRecord record; // The record being built while the game is played
+    private boolean adjudicated; // Set once the tablebase has decided the game
+    private Player adjudicatedWinner; // The winner decided by the tablebase, or null for a draw
+    private GameResult.TerminationReason drawReason; // Set once a draw condition is reached
+    private int plies;    // Moves executed so far
+    private int captures; // Capturing moves executed so far
 
     /**
      * Constructor for the Game class.
@@ -25,10 +37,73 @@ public class Game {
      * @param player2 the second player.
      */
     public Game(Player player1, Player player2) {
-        this.board = new Board();
+        this(player1, player2, new Board());
+    }
+
+    /**
+     * Creates a game that continues from a given position, with the first player to move.
+     *
+     * @param player1 the first player, who moves first.
+     * @param player2 the second player.
+     * @param board the position to play from; the game plays on this board.
+     */
+    public Game(Player player1, Player player2, Board board) {
+        this.board = board;
         this.player1 = player1;
         this.player2 = player2;
         this.currentPlayer = player1; // Black starts first in Checkers.
+        board.getBitBoard().setWhiteToMove(!player1.isBlack());
+    }
+
+    /**
+     * Sets the listener that receives this game's events, including the moves evaluated
+     * by both players' strategies. Use {@link ConsoleGameListener} to print the game.
+     *
+     * @param listener the listener to notify.
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+        player1.setListener(listener);
+        player2.setListener(listener);
+    }
+
+    /**
+     * Sets the clock that budgets the players' thinking time. Each move is then decided
+     * within the time the clock allocates to it.
+     *
+     * @param clock the clock to use, or null for an untimed game.
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the clock that budgets the players' thinking time.
+     *
+     * @return the clock, or null for an untimed game.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the endgame tablebase. Once a position it covers is reached, the game ends with the
+     * result of best play from there, as long as that result cannot be changed by the
+     * no-capture limit.
+     *
+     * @param tablebase the tablebase to use, or null to play every game out.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Sets the sink that receives the record of the game once it has finished.
+     *
+     * @param recordSink the sink to use, or null to keep no record.
+     */
+    public void setRecordSink(GameRecordSink recordSink) {
+        this.recordSink = recordSink;
     }
 
     /**
@@ -42,37 +117,80 @@ public class Game {
      * Plays a single turn of the game.
      */
     public void playTurn() {
-        System.out.println(currentPlayer.getColor() + "'s turn!");
+        listener.onTurnStart(currentPlayer);
 
-        // Decide the move using the current player's strategy
-        Move move = currentPlayer.decideMove(board);
+        // Decide the move using the current player's strategy, within its time allowance if timed
+        Move move;
+        if (clock == null) {
+            move = currentPlayer.decideMove(board);
+        } else {
+            PieceColor color = currentPlayer.getPieceColor();
+            long startTime = System.nanoTime();
+            move = currentPlayer.decideMove(board, clock.allocate(color, board));
+            clock.record(color, System.nanoTime() - startTime);
+        }
 
         if (move == null) {
-            System.out.println("No valid moves available. Turn skipped.");
+            listener.onTurnSkipped(currentPlayer);
             return;
         }
 
+        // Record the move while the position it was chosen in is still on the board
+        if (record != null) {
+            record.addMove(board, currentPlayer.isBlack(), move);
+        }
+
         // Execute the move on the board
         board.executeMove(move);
+        plies++;
 
         // Update the counter for moves without capture
         if (move.isCapture()) {
+            captures++;
             movesWithoutCapture = 0; // Reset counter
+            boardHistorySize = 0;    // Positions before a capture cannot come back
         } else {
             movesWithoutCapture++;
         }
 
-        // Print the board state after the move
-        board.printBoard();
+        // Report the board state after the move
+        listener.onMoveExecuted(currentPlayer, move, board);
 
-        // Check for draw conditions
-        if (isDraw()) {
-            System.out.println("The game ends in a draw.");
-            System.exit(0); // End the game immediately
+        // Check for draw conditions; the game is over once one is reached
+        drawReason = checkDraw();
+        if (drawReason != null) {
+            listener.onDraw("The game ends in a draw.");
+            return;
         }
 
         // Switch to the next player
         switchTurn();
+        adjudicate();
+    }
+
+    /**
+     * Ends the game with the tablebase result of the current position if it has one.
+     * A win is only adjudicated if best play ends the game before the no-capture limit;
+     * a draw always stands, since the limit and repetitions can only add draws.
+     */
+    private void adjudicate() {
+        if (tablebase == null || !board.hasAnyMove(player1.getPieceColor()) || !board.hasAnyMove(player2.getPieceColor())) {
+            return; // Finished games end by the normal rules
+        }
+        int value = tablebase.probe(board, currentPlayer.isBlack());
+        if (value < 0) {
+            return;
+        }
+        int result = Tablebase.result(value);
+        if (result == Tablebase.DRAW) {
+            adjudicated = true;
+        } else if (movesWithoutCapture + Tablebase.distance(value) < maxMovesWithoutCapture) {
+            adjudicated = true;
+            adjudicatedWinner = result == Tablebase.WIN ? currentPlayer : currentPlayer == player1 ? player2 : player1;
+        }
+        if (adjudicated && adjudicatedWinner == null) {
+            listener.onDraw("Draw shown by the endgame tablebase.");
+        }
     }
 
 
@@ -80,25 +198,60 @@ public class Game {
      * Starts the game and manages the turn sequence.
      */
     public void startGame() {
-        System.out.println("Starting the game...");
-        board.printBoard();
+        play();
+    }
+
+    /**
+     * Plays the game to the end and reports how it finished.
+     *
+     * @return the result of the game.
+     */
+    public GameResult play() {
+        long startTime = System.nanoTime();
+        listener.onGameStart(board);
+        if (recordSink != null) {
+            Player black = player1.isBlack() ? player1 : player2;
+            Player white = black == player1 ? player2 : player1;
+            record = new GameRecord(board, currentPlayer.isBlack(),
+                    black.getStrategy().getClass().getSimpleName(), white.getStrategy().getClass().getSimpleName());
+        }
+        adjudicate(); // The game may start in a position the tablebase knows
 
         while (!isGameOver()) { // Continue until the game is over
             playTurn();
         }
 
         // Determine the winner
-        determineWinner();
+        GameResult.TerminationReason reason = drawReason != null ? drawReason
+                : adjudicated ? GameResult.TerminationReason.TABLEBASE : GameResult.TerminationReason.NO_MOVES;
+        String winner = determineWinner();
+        Player winningPlayer = winner.equals("Player 1") ? player1 : winner.equals("Player 2") ? player2 : null;
+
+        GameResult result = new GameResult(winningPlayer, reason, plies, captures, System.nanoTime() - startTime);
+        if (record != null) {
+            record.setResult(winningPlayer == null ? GameRecord.DRAW
+                    : winningPlayer.isBlack() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS, reason);
+            recordSink.write(record);
+            record = null;
+        }
+        listener.onGameEnd(result);
+        return result;
     }
-    /**
-     * Determines and announces the winner.
-     */
+
     /**
      * Determines the winner of the game.
+     * A game that ended by a draw condition is a draw, and a game decided by the tablebase
+     * has the tablebase result; otherwise the player with more pieces wins.
      *
      * @return "Player 1", "Player 2", or "Draw" based on the game's outcome.
      */
     public String determineWinner() {
+        if (drawReason != null) {
+            return "Draw";
+        }
+        if (adjudicated) {
+            return adjudicatedWinner == player1 ? "Player 1" : adjudicatedWinner == player2 ? "Player 2" : "Draw";
+        }
         int player1Pieces = countPieces(player1);
         int player2Pieces = countPieces(player2);
 
@@ -119,16 +272,7 @@ public class Game {
      * @return the number of pieces the player has on the board.
      */
     private int countPieces(Player player) {
-        int count = 0;
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = board.getPieceAt(row, col);
-                if (piece != null && piece.getPlayerColor().equals(player.getColor())) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return board.getPieceCount(player.getPieceColor());
     }
 
 
@@ -138,9 +282,13 @@ public class Game {
      * @return true if the game is over, false otherwise.
      */
     public boolean isGameOver() {
+        if (drawReason != null || adjudicated) {
+            return true; // A draw condition was reached, or the tablebase decided the game
+        }
+
         // Check if either player has no valid moves or no pieces left
-        boolean player1HasMoves = !board.getValidMoves(player1).isEmpty();
-        boolean player2HasMoves = !board.getValidMoves(player2).isEmpty();
+        boolean player1HasMoves = board.hasAnyMove(player1.getPieceColor());
+        boolean player2HasMoves = board.hasAnyMove(player2.getPieceColor());
 
         if (!player1HasMoves || !player2HasMoves) {
             return true; // Game over if either player cannot make a move
@@ -151,43 +299,34 @@ public class Game {
     /**
      * Checks if the game is a draw.
      *
-     * @return true if the game is a draw, false otherwise.
+     * @return the reason the game is drawn, or null if it is not a draw.
      */
-    private boolean isDraw() {
+    private GameResult.TerminationReason checkDraw() {
         // Check if the moves without capture exceed the maximum allowed
         if (movesWithoutCapture >= maxMovesWithoutCapture) {
-            System.out.println("Draw due to no captures in " + maxMovesWithoutCapture + " moves.");
-            return true;
+            listener.onDraw("Draw due to no captures in " + maxMovesWithoutCapture + " moves.");
+            return GameResult.TerminationReason.FIFTY_MOVE_RULE;
         }
 
         // Check for repeated board states
-        String currentState = boardStateAsString();
-        if (boardHistory.contains(currentState)) {
-            System.out.println("Draw due to repeated board state.");
-            return true;
+        long currentState = board.getHash();
+        for (int i = boardHistorySize - 1; i >= 0; i--) {
+            if (boardHistory[i] == currentState) {
+                listener.onDraw("Draw due to repeated board state.");
+                return GameResult.TerminationReason.REPETITION;
+            }
         }
 
         // Add current state to history
-        boardHistory.add(currentState);
-
-        return false;
-    }
-    /**
-     * Converts the current board state to a string for comparison.
-     *
-     * @return a string representing the board state.
-     */
-    private String boardStateAsString() {
-        StringBuilder sb = new StringBuilder();
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = board.getPieceAt(row, col);
-                sb.append(piece == null ? "." : piece.getSymbol());
-            }
+        if (boardHistorySize == boardHistory.length) {
+            boardHistory = Arrays.copyOf(boardHistory, boardHistorySize * 2);
         }
-        return sb.toString();
+        boardHistory[boardHistorySize++] = currentState;
+
+        return null;
     }
 
 
 
+
 }
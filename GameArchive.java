@@ -0,0 +1,181 @@
+package upei.project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The GameArchive class gives access to a set of game record files as one stream of records.
+ * The stream splits between files, so a parallel stream scans several files at once, each
+ * with its own memory-mapped {@link GameRecordReader}.
+ *
+ * Stream elements are the readers themselves, positioned on a record. A reader moves on to the
+ * next record as soon as the action returns, so an element is only valid for the duration of
+ * the call: map it to the values a query needs instead of keeping it.
+ */
+public class GameArchive {
+    private final List<Path> files;
+
+    /**
+     * Creates an archive over the given files.
+     *
+     * @param files the record files, in the order they are read.
+     */
+    public GameArchive(List<Path> files) {
+        this.files = Collections.unmodifiableList(new ArrayList<>(files));
+    }
+
+    /**
+     * Opens the record files a {@link GameRecordWriter} wrote to a directory.
+     *
+     * @param directory the directory of the archive.
+     * @param prefix the start of the file names.
+     * @return the archive, with its files in name order.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static GameArchive open(Path directory, String prefix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "-*" + GameRecordWriter.EXTENSION)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        return new GameArchive(files);
+    }
+
+    /**
+     * Gets the files of the archive.
+     *
+     * @return the record files.
+     */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * Streams every record of the archive.
+     *
+     * @param parallel whether to scan several files at once.
+     * @return the records; each element is only valid while it is being processed.
+     * @throws UncheckedIOException if a file cannot be read.
+     */
+    public Stream<GameRecordReader> records(boolean parallel) {
+        return StreamSupport.stream(new FileSpliterator(0, files.size()), parallel);
+    }
+
+    /**
+     * Splits the archive between files; each part reads its files one after another.
+     */
+    private final class FileSpliterator implements Spliterator<GameRecordReader> {
+        private int nextFile;
+        private final int endFile;
+        private GameRecordReader reader; // The file being read, or null between files
+
+        FileSpliterator(int firstFile, int endFile) {
+            this.nextFile = firstFile;
+            this.endFile = endFile;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GameRecordReader> action) {
+            while (reader == null || !reader.next()) {
+                if (nextFile >= endFile) {
+                    reader = null;
+                    return false;
+                }
+                try {
+                    reader = GameRecordReader.open(files.get(nextFile++));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            action.accept(reader);
+            return true;
+        }
+
+        @Override
+        public Spliterator<GameRecordReader> trySplit() {
+            // Once a file has been started its unread records come first, so the files after it
+            // cannot be handed over as a prefix without breaking the encounter order
+            int remaining = endFile - nextFile;
+            if (reader != null || remaining < 2) {
+                return null;
+            }
+            int middle = nextFile + remaining / 2;
+            FileSpliterator prefix = new FileSpliterator(nextFile, middle);
+            nextFile = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE; // Record counts are only known once the files are read
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Reports how often a strategy wins, overall and in the games where it was at some point
+     * a king up on its opponent.
+     * Arguments: the archive directory (default records), the file prefix (default selfplay),
+     * then the strategy name (default DefensiveStrategy).
+     *
+     * @param args the command line arguments.
+     * @throws IOException if the archive cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "records");
+        String prefix = args.length > 1 ? args[1] : "selfplay";
+        String strategy = args.length > 2 ? args[2] : "DefensiveStrategy";
+        GameArchive archive = open(directory, prefix);
+
+        long startTime = System.nanoTime();
+        // [games, wins, games a king up, wins a king up]
+        long[] counts = archive.records(true).mapToInt(record -> {
+            boolean black = record.getBlackName().equals(strategy);
+            if (!black && !record.getWhiteName().equals(strategy)) {
+                return -1;
+            }
+            PieceColor color = black ? PieceColor.BLACK : PieceColor.WHITE;
+            boolean won = record.getWinner() == (black ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+            // Stop replaying as soon as the strategy is a king up
+            boolean[] kingUp = new boolean[1];
+            record.replay((board, blackToMove, ply) -> {
+                kingUp[0] = board.getKingCount(color) > board.getKingCount(color.opponent());
+                return !kingUp[0];
+            });
+            return (won ? 1 : 0) | (kingUp[0] ? 2 : 0);
+        }).filter(result -> result >= 0).collect(() -> new long[4], (total, result) -> {
+            total[0]++;
+            total[1] += result & 1;
+            if ((result & 2) != 0) {
+                total[2]++;
+                total[3] += result & 1;
+            }
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                a[i] += b[i];
+            }
+        });
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        System.out.println(archive.getFiles().size() + " files scanned in " + elapsedNanos / 1_000_000 + " ms");
+        System.out.println(String.format("%s: %d games, win rate %.1f%%", strategy, counts[0],
+                counts[0] == 0 ? 0 : 100.0 * counts[1] / counts[0]));
+        System.out.println(String.format("A king up: %d games, win rate %.1f%%", counts[2],
+                counts[2] == 0 ? 0 : 100.0 * counts[3] / counts[2]));
+    }
+}
@@ -0,0 +1,108 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    /**
+     * Plays games into a temporary archive, spread over several small files.
+     */
+    private GameArchive writeArchive(int games, List<GameResult> results) throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        directory.toFile().deleteOnExit();
+        try (GameRecordWriter writer = new GameRecordWriter(directory, "selfplay", 1000)) {
+            for (int i = 0; i < games; i++) {
+                Game game = new Game(new Player(PieceColor.BLACK, new RandomStrategy()),
+                        new Player(PieceColor.WHITE, new DefensiveStrategy()));
+                game.setRecordSink(writer);
+                results.add(game.play());
+            }
+            writer.getFiles().forEach(file -> file.toFile().deleteOnExit()); // A mapped file cannot be deleted on every platform
+        }
+        return GameArchive.open(directory, "selfplay");
+    }
+
+    @Test
+    void testRecordsMatchTheGamesPlayed() throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        GameArchive archive = writeArchive(12, results);
+        assertTrue(archive.getFiles().size() > 1, "The games should fill several files.");
+
+        List<String> read = archive.records(false)
+                .map(record -> record.getBlackName() + " " + record.getWhiteName() + " " + record.getMoveCount()
+                        + " " + record.getReason() + " " + record.getWinner())
+                .collect(Collectors.toList());
+        List<String> expected = new ArrayList<>();
+        for (GameResult result : results) {
+            int winner = result.isDraw() ? GameRecord.DRAW
+                    : result.getWinner().isBlack() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS;
+            expected.add("RandomStrategy DefensiveStrategy " + result.getPlies() + " " + result.getReason() + " " + winner);
+        }
+        assertEquals(expected, read, "Records should be read back in the order they were written.");
+    }
+
+    @Test
+    void testParallelScanMatchesSequentialScan() throws IOException {
+        GameArchive archive = writeArchive(16, new ArrayList<>());
+        // Replay every game and hash its final position
+        long sequential = archive.records(false).mapToLong(GameArchiveTest::finalHash).sum();
+        long parallel = archive.records(true).mapToLong(GameArchiveTest::finalHash).sum();
+        assertEquals(16, archive.records(true).count(), "A parallel scan should see every record.");
+        assertEquals(sequential, parallel, "A parallel scan should replay the same games.");
+    }
+
+    @Test
+    void testSplittingKeepsRecordOrder() throws IOException {
+        GameArchive archive = writeArchive(12, new ArrayList<>());
+        List<Integer> sequential = archive.records(false).map(GameRecordReader::getMoveCount).collect(Collectors.toList());
+        List<Integer> parallel = archive.records(true).map(GameRecordReader::getMoveCount).collect(Collectors.toList());
+        assertEquals(sequential, parallel, "A parallel scan should keep the order of the records.");
+
+        Spliterator<GameRecordReader> records = archive.records(false).spliterator();
+        assertTrue(records.tryAdvance(record -> { }), "The archive should have records.");
+        assertNull(records.trySplit(), "A started file should not be split from the files before it.");
+        List<Integer> rest = new ArrayList<>();
+        records.forEachRemaining(record -> rest.add(record.getMoveCount()));
+        assertEquals(sequential.subList(1, sequential.size()), rest, "The remaining records should follow in order.");
+    }
+
+    private static long finalHash(GameRecordReader record) {
+        long[] hash = new long[1];
+        int plies = record.replay((board, blackToMove, ply) -> {
+            hash[0] = board.getHash();
+            return true;
+        });
+        assertEquals(record.getMoveCount(), plies, "The whole game should be replayed.");
+        return hash[0];
+    }
+
+    @Test
+    void testReplayReachesTheFinalPosition() throws IOException {
+        Path directory = Files.createTempDirectory("archive");
+        directory.toFile().deleteOnExit();
+        Board board = new Board();
+        try (GameRecordWriter writer = new GameRecordWriter(directory, "game", 1 << 20)) {
+            Game game = new Game(new Player(PieceColor.BLACK, new AggressiveStrategy()),
+                    new Player(PieceColor.WHITE, new RandomStrategy()), board);
+            game.setRecordSink(writer);
+            game.play();
+            writer.getFiles().forEach(file -> file.toFile().deleteOnExit());
+        }
+        GameRecordReader reader = GameRecordReader.open(GameArchive.open(directory, "game").getFiles().get(0));
+        assertTrue(reader.next(), "The file should hold the game.");
+        Board replay = new Board();
+        reader.replay(replay, (position, blackToMove, ply) -> true);
+        assertEquals(board.getHash(), replay.getHash(), "The replay should end in the game's final position.");
+        assertFalse(reader.next(), "The file should hold a single game.");
+    }
+}
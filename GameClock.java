@@ -0,0 +1,84 @@
+package upei.project;
+
+/**
+ * The GameClock class gives each side a total thinking time for the game and decides how much of
+ * it to spend on each move. Every move gets the remaining time divided by the number of moves the
+ * side is still expected to make, plus most of the increment; the estimate shrinks as pieces come
+ * off the board, so time saved early is spent later. No single move may use more than a third of
+ * what is left, so one long search cannot use up the clock.
+ *
+ * The clock only budgets time: a side that runs out keeps playing on the minimum allowance,
+ * it does not lose the game.
+ */
+public class GameClock {
+    private static final long MIN_MOVE_NANOS = 1_000_000L; // Every move gets at least a millisecond
+    private static final int MIN_MOVES_TO_GO = 8;
+    private static final int MAX_MOVES_TO_GO = 30;
+
+    private final long incrementNanos;
+    private final long[] remainingNanos = new long[PieceColor.values().length]; // Indexed by color ordinal
+
+    /**
+     * Creates a clock without an increment.
+     *
+     * @param totalMillis the thinking time for the whole game for each side, in milliseconds.
+     */
+    public GameClock(long totalMillis) {
+        this(totalMillis, 0);
+    }
+
+    /**
+     * Creates a clock.
+     *
+     * @param totalMillis the thinking time for the whole game for each side, in milliseconds.
+     * @param incrementMillis the time added to a side's clock after each of its moves, in milliseconds.
+     */
+    public GameClock(long totalMillis, long incrementMillis) {
+        if (totalMillis <= 0) {
+            throw new IllegalArgumentException("Total time must be positive.");
+        }
+        if (incrementMillis < 0) {
+            throw new IllegalArgumentException("Increment cannot be negative.");
+        }
+        this.incrementNanos = incrementMillis * 1_000_000L;
+        for (PieceColor color : PieceColor.values()) {
+            remainingNanos[color.ordinal()] = totalMillis * 1_000_000L;
+        }
+    }
+
+    /**
+     * Works out the limits for a side's next move.
+     *
+     * @param color the side to move.
+     * @param board the current position, used to estimate how many moves are left.
+     * @return limits with the time allowed for the move.
+     */
+    public SearchLimits allocate(PieceColor color, Board board) {
+        long remaining = remainingNanos[color.ordinal()];
+        int movesToGo = Math.max(MIN_MOVES_TO_GO, Math.min(MAX_MOVES_TO_GO, board.getPieceCount(color) * 2));
+        long share = remaining / movesToGo + incrementNanos * 3 / 4;
+        long allowance = Math.max(MIN_MOVE_NANOS, Math.min(share, remaining / 3));
+        return SearchLimits.ofTime(allowance / 1_000_000L);
+    }
+
+    /**
+     * Charges a side for the time it spent on a move and adds the increment.
+     *
+     * @param color the side that moved.
+     * @param elapsedNanos the time the move took, in nanoseconds.
+     */
+    public void record(PieceColor color, long elapsedNanos) {
+        int index = color.ordinal();
+        remainingNanos[index] = Math.max(0, remainingNanos[index] - elapsedNanos) + incrementNanos;
+    }
+
+    /**
+     * Gets the thinking time a side has left.
+     *
+     * @param color the side.
+     * @return the remaining time in milliseconds.
+     */
+    public long getRemainingMillis(PieceColor color) {
+        return remainingNanos[color.ordinal()] / 1_000_000L;
+    }
+}
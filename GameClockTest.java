@@ -0,0 +1,57 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    @Test
+    void testAllocationSpreadsRemainingTime() {
+        GameClock clock = new GameClock(60_000);
+        Board board = new Board();
+
+        long allowance = clock.allocate(PieceColor.BLACK, board).getMaxTimeNanos() / 1_000_000;
+
+        assertTrue(allowance > 0, "Every move should get some time.");
+        assertTrue(allowance <= 60_000 / 8, "A move should get a share of the clock, not all of it.");
+    }
+
+    @Test
+    void testAllocationGrowsAsPiecesComeOff() {
+        GameClock clock = new GameClock(60_000);
+        Board full = new Board();
+        Board sparse = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                sparse.removePieceAt(row, col);
+            }
+        }
+        sparse.placePieceAt(2, 3, new RegularPiece("Black"));
+        sparse.placePieceAt(5, 4, new RegularPiece("White"));
+
+        long early = clock.allocate(PieceColor.BLACK, full).getMaxTimeNanos();
+        long late = clock.allocate(PieceColor.BLACK, sparse).getMaxTimeNanos();
+
+        assertTrue(late > early, "Fewer pieces mean fewer moves to come, so each move should get more time.");
+    }
+
+    @Test
+    void testRecordChargesTimeAndAddsIncrement() {
+        GameClock clock = new GameClock(1000, 100);
+
+        clock.record(PieceColor.WHITE, 300_000_000L);
+        assertEquals(800, clock.getRemainingMillis(PieceColor.WHITE), "The move's time should be charged, then the increment added.");
+        assertEquals(1000, clock.getRemainingMillis(PieceColor.BLACK), "The other side's clock should not change.");
+
+        clock.record(PieceColor.WHITE, 5_000_000_000L);
+        assertEquals(100, clock.getRemainingMillis(PieceColor.WHITE), "An exhausted clock should only hold the increment.");
+        assertTrue(clock.allocate(PieceColor.WHITE, new Board()).getMaxTimeNanos() > 0, "An exhausted side should still get some time.");
+    }
+
+    @Test
+    void testInvalidClockIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new GameClock(0), "A clock needs some time.");
+        assertThrows(IllegalArgumentException.class, () -> new GameClock(1000, -1), "An increment cannot be negative.");
+    }
+}
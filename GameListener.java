@@ -0,0 +1,113 @@
+package upei.project;
+
+/**
+ * The GameListener interface receives events from games, simulations and strategies.
+ * All methods do nothing by default, so a game with no listener attached runs headless:
+ * no strings are formatted and nothing is written to the console.
+ * Moves inside strategies are reported in the packed form used by {@link MoveBuffer}.
+ */
+public interface GameListener {
+    /**
+     * A listener that ignores every event.
+     */
+    GameListener NONE = new GameListener() {
+    };
+
+    /**
+     * Called when a simulation experiment starts one of its games.
+     *
+     * @param gameNumber the number of the game, starting at 1.
+     * @param numberOfGames the total number of games in the experiment.
+     */
+    default void onSimulationGame(int gameNumber, int numberOfGames) {
+    }
+
+    /**
+     * Called when a game starts.
+     *
+     * @param board the starting board.
+     */
+    default void onGameStart(Board board) {
+    }
+
+    /**
+     * Called at the start of a player's turn.
+     *
+     * @param player the player whose turn it is.
+     */
+    default void onTurnStart(Player player) {
+    }
+
+    /**
+     * Called when a player's strategy returns no move and the turn is skipped.
+     *
+     * @param player the player whose turn was skipped.
+     */
+    default void onTurnSkipped(Player player) {
+    }
+
+    /**
+     * Called after a move has been executed on the board.
+     *
+     * @param player the player who made the move.
+     * @param move the move.
+     * @param board the board after the move.
+     */
+    default void onMoveExecuted(Player player, Move move, Board board) {
+    }
+
+    /**
+     * Called when a game ends in a draw.
+     *
+     * @param reason a description of why the game was drawn.
+     */
+    default void onDraw(String reason) {
+    }
+
+    /**
+     * Called when a game has finished.
+     *
+     * @param result how the game ended.
+     */
+    default void onGameEnd(GameResult result) {
+    }
+
+    /**
+     * Called when a strategy has generated the moves it will choose from.
+     *
+     * @param player the player the moves are for.
+     * @param moves the generated moves; only valid for the duration of the call.
+     */
+    default void onMovesGenerated(Player player, MoveBuffer moves) {
+    }
+
+    /**
+     * Called when a strategy has scored a candidate move.
+     *
+     * @param player the player the move is for.
+     * @param move the packed move.
+     * @param score the strategy's score for the move.
+     */
+    default void onMoveEvaluated(Player player, int move, int score) {
+    }
+
+    /**
+     * Called when a searching strategy has finished its search for a move.
+     *
+     * @param player the player the search was for.
+     * @param depth the deepest search depth that was completed.
+     * @param nodes the number of positions visited.
+     * @param elapsedNanos the time the search took, in nanoseconds.
+     */
+    default void onSearchCompleted(Player player, int depth, long nodes, long elapsedNanos) {
+    }
+
+    /**
+     * Called when a strategy has chosen its move.
+     *
+     * @param player the player the move is for.
+     * @param move the packed move.
+     */
+    default void onMoveChosen(Player player, int move) {
+    }
+}
@@ -0,0 +1,185 @@
+package upei.project;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The GameRecord class is the compact binary record of one game, built move by move while the
+ * game is played and then handed to a {@link GameRecordSink}.
+ *
+ * A move is stored as its index in the list of legal moves the board generates for the position,
+ * which is enough to replay the game: one byte for indices below 255, or 255 followed by a second
+ * byte for the rest. A record is laid out as:
+ * <pre>
+ * int    length of the rest of the record in bytes
+ * byte   flags: FLAG_BLACK_STARTS, FLAG_CUSTOM_START
+ * byte   winner: DRAW, BLACK_WINS or WHITE_WINS
+ * byte   termination reason (ordinal of GameResult.TerminationReason)
+ * int    number of moves
+ * long*3 Black, White and king masks of the starting position (only with FLAG_CUSTOM_START)
+ * byte   length of the Black strategy name, then its UTF-8 bytes
+ * byte   length of the White strategy name, then its UTF-8 bytes
+ * byte*  the encoded moves
+ * </pre>
+ */
+public class GameRecord {
+    // Winners
+    public static final int DRAW = 0;
+    public static final int BLACK_WINS = 1;
+    public static final int WHITE_WINS = 2;
+
+    static final int FLAG_BLACK_STARTS = 1;
+    static final int FLAG_CUSTOM_START = 2;
+    static final int ESCAPE = 0xFF; // First byte of a two-byte move index
+    static final int MAX_NAME_BYTES = 255;
+
+    // The standard starting position, which is not stored
+    static final long START_BLACK;
+    static final long START_WHITE;
+
+    static {
+        BitBoard start = new Board().getBitBoard();
+        START_BLACK = start.getBlack();
+        START_WHITE = start.getWhite();
+    }
+
+    private final long startBlack;
+    private final long startWhite;
+    private final long startKings;
+    private final boolean blackStarts;
+    private final byte[] blackName;
+    private final byte[] whiteName;
+    private final MoveBuffer legalMoves = new MoveBuffer(); // Reused to find each move's index
+    private byte[] moves = new byte[64];
+    private int moveBytes;
+    private int moveCount;
+    private int winner = DRAW;
+    private GameResult.TerminationReason reason = GameResult.TerminationReason.NO_MOVES;
+
+    /**
+     * Starts a record from a position.
+     *
+     * @param board the starting position.
+     * @param blackStarts whether Black makes the first move.
+     * @param blackName the name of Black's strategy.
+     * @param whiteName the name of White's strategy.
+     */
+    public GameRecord(Board board, boolean blackStarts, String blackName, String whiteName) {
+        BitBoard bits = board.getBitBoard();
+        this.startBlack = bits.getBlack();
+        this.startWhite = bits.getWhite();
+        this.startKings = bits.getKings();
+        this.blackStarts = blackStarts;
+        this.blackName = nameBytes(blackName);
+        this.whiteName = nameBytes(whiteName);
+    }
+
+    private static byte[] nameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= MAX_NAME_BYTES ? bytes : Arrays.copyOf(bytes, MAX_NAME_BYTES);
+    }
+
+    /**
+     * Adds a move, before it is executed.
+     *
+     * @param board the position the move is made in.
+     * @param forBlack whether Black makes the move.
+     * @param move the move.
+     */
+    public void addMove(Board board, boolean forBlack, Move move) {
+        int from = BitBoard.square(move.getStartX(), move.getStartY());
+        int to = BitBoard.square(move.getEndX(), move.getEndY());
+        long captured = move.getCapturedSquares();
+        int count = board.getBitBoard().generateMoves(forBlack, legalMoves);
+        for (int i = 0; i < count; i++) {
+            int legal = legalMoves.get(i);
+            if (MoveBuffer.from(legal) == from && MoveBuffer.to(legal) == to
+                    && MoveBuffer.capturedSquares(legal) == captured) {
+                addIndex(i);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Move " + move + " is not legal in this position.");
+    }
+
+    private void addIndex(int index) {
+        if (moveBytes + 2 > moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        if (index < ESCAPE) {
+            moves[moveBytes++] = (byte) index;
+        } else {
+            moves[moveBytes++] = (byte) ESCAPE;
+            moves[moveBytes++] = (byte) (index - ESCAPE);
+        }
+        moveCount++;
+    }
+
+    /**
+     * Sets how the game ended.
+     *
+     * @param winner DRAW, BLACK_WINS or WHITE_WINS.
+     * @param reason why the game ended.
+     */
+    public void setResult(int winner, GameResult.TerminationReason reason) {
+        this.winner = winner;
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the number of moves recorded.
+     *
+     * @return the move count.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the winner.
+     *
+     * @return DRAW, BLACK_WINS or WHITE_WINS.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    private boolean isCustomStart() {
+        return startBlack != START_BLACK || startWhite != START_WHITE || startKings != 0;
+    }
+
+    /**
+     * Gets the size of the encoded record.
+     *
+     * @return the number of bytes {@link #writeTo(ByteBuffer)} writes.
+     */
+    public int encodedSize() {
+        return Integer.BYTES + 3 + Integer.BYTES + (isCustomStart() ? 3 * Long.BYTES : 0)
+                + 1 + blackName.length + 1 + whiteName.length + moveBytes;
+    }
+
+    /**
+     * Writes the encoded record.
+     *
+     * @param buffer the buffer to write to; it must have {@link #encodedSize()} bytes remaining.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        boolean customStart = isCustomStart();
+        buffer.putInt(encodedSize() - Integer.BYTES);
+        buffer.put((byte) ((blackStarts ? FLAG_BLACK_STARTS : 0) | (customStart ? FLAG_CUSTOM_START : 0)));
+        buffer.put((byte) winner);
+        buffer.put((byte) reason.ordinal());
+        buffer.putInt(moveCount);
+        if (customStart) {
+            buffer.putLong(startBlack);
+            buffer.putLong(startWhite);
+            buffer.putLong(startKings);
+        }
+        buffer.put((byte) blackName.length);
+        buffer.put(blackName);
+        buffer.put((byte) whiteName.length);
+        buffer.put(whiteName);
+        buffer.put(moves, 0, moveBytes);
+    }
+}
@@ -0,0 +1,233 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameRecordReader class steps through the records of one file written by
+ * {@link GameRecordWriter}. The reader is a cursor: {@link #next()} moves it to the next record,
+ * and the getters describe the current one. Fields are read straight from the mapped file, and
+ * replaying a game reuses the reader's board and move buffer, so scanning an archive allocates
+ * nothing per move.
+ *
+ * A reader is not safe to share between threads; {@link GameArchive} gives each file its own.
+ */
+public class GameRecordReader {
+    private static final GameResult.TerminationReason[] REASONS = GameResult.TerminationReason.values();
+
+    private final ByteBuffer data;
+    private final MoveBuffer legalMoves = new MoveBuffer();
+    private Board board; // The board replay(ReplayVisitor) plays on, created on first use
+    private int next = GameRecordWriter.HEADER_BYTES; // Offset of the next record
+    private int flags;
+    private int winner;
+    private int reason;
+    private int moveCount;
+    private long startBlack;
+    private long startWhite;
+    private long startKings;
+    private int blackNameOffset;
+    private int whiteNameOffset;
+    private int movesOffset;
+
+    /**
+     * Creates a reader over the contents of a record file.
+     *
+     * @param data the file contents, starting with the header.
+     */
+    public GameRecordReader(ByteBuffer data) {
+        if (data.capacity() < GameRecordWriter.HEADER_BYTES || data.getInt(0) != GameRecordWriter.MAGIC) {
+            throw new IllegalArgumentException("Not a game record file.");
+        }
+        if (data.getInt(Integer.BYTES) != GameRecordWriter.VERSION) {
+            throw new IllegalArgumentException("Unsupported game record version " + data.getInt(Integer.BYTES) + ".");
+        }
+        this.data = data;
+    }
+
+    /**
+     * Opens a record file by mapping it into memory.
+     *
+     * @param path the record file.
+     * @return a reader positioned before the first record.
+     * @throws IOException if the file cannot be read.
+     */
+    public static GameRecordReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new GameRecordReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Moves to the next record. A record cut off at the end of the file, as left by a writer
+     * that was not closed, ends the file.
+     *
+     * @return true if there is a next record, false at the end of the file.
+     */
+    public boolean next() {
+        if (next + Integer.BYTES > data.limit()) {
+            return false;
+        }
+        int start = next + Integer.BYTES;
+        int end = start + data.getInt(next);
+        if (end > data.limit() || end < start) {
+            return false;
+        }
+        flags = data.get(start);
+        winner = data.get(start + 1);
+        reason = data.get(start + 2);
+        moveCount = data.getInt(start + 3);
+        int offset = start + 3 + Integer.BYTES;
+        if ((flags & GameRecord.FLAG_CUSTOM_START) != 0) {
+            startBlack = data.getLong(offset);
+            startWhite = data.getLong(offset + Long.BYTES);
+            startKings = data.getLong(offset + 2 * Long.BYTES);
+            offset += 3 * Long.BYTES;
+        } else {
+            startBlack = GameRecord.START_BLACK;
+            startWhite = GameRecord.START_WHITE;
+            startKings = 0;
+        }
+        blackNameOffset = offset;
+        whiteNameOffset = blackNameOffset + 1 + (data.get(blackNameOffset) & 0xFF);
+        movesOffset = whiteNameOffset + 1 + (data.get(whiteNameOffset) & 0xFF);
+        next = end;
+        return true;
+    }
+
+    /**
+     * Gets the winner of the current game.
+     *
+     * @return GameRecord.DRAW, BLACK_WINS or WHITE_WINS.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets why the current game ended.
+     *
+     * @return the termination reason.
+     */
+    public GameResult.TerminationReason getReason() {
+        return REASONS[reason];
+    }
+
+    /**
+     * Gets the number of moves in the current game.
+     *
+     * @return the move count.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Checks who made the first move of the current game.
+     *
+     * @return true if Black moved first.
+     */
+    public boolean isBlackStarts() {
+        return (flags & GameRecord.FLAG_BLACK_STARTS) != 0;
+    }
+
+    /**
+     * Gets the name of Black's strategy in the current game.
+     *
+     * @return the strategy name.
+     */
+    public String getBlackName() {
+        return name(blackNameOffset);
+    }
+
+    /**
+     * Gets the name of White's strategy in the current game.
+     *
+     * @return the strategy name.
+     */
+    public String getWhiteName() {
+        return name(whiteNameOffset);
+    }
+
+    private String name(int offset) {
+        byte[] bytes = new byte[data.get(offset) & 0xFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(offset + 1 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replays the current game on the reader's own board.
+     *
+     * @param visitor called with every position.
+     * @return the number of moves replayed.
+     */
+    public int replay(ReplayVisitor visitor) {
+        if (board == null) {
+            board = new Board();
+        }
+        return replay(board, visitor);
+    }
+
+    /**
+     * Replays the current game on a board, which is first set to the game's starting position.
+     *
+     * @param board the board to play on.
+     * @param visitor called with every position; returning false stops the replay.
+     * @return the number of moves replayed.
+     */
+    public int replay(Board board, ReplayVisitor visitor) {
+        return replay(board, visitor, null);
+    }
+
+    /**
+     * Gets the moves of the current game, for exporting it.
+     *
+     * @return the packed moves, in the order they were played.
+     */
+    public int[] getMoves() {
+        if (board == null) {
+            board = new Board();
+        }
+        int[] moves = new int[moveCount];
+        replay(board, (position, blackToMove, ply) -> true, moves);
+        return moves;
+    }
+
+    private int replay(Board board, ReplayVisitor visitor, int[] moves) {
+        BitBoard bits = board.getBitBoard();
+        bits.setPosition(startBlack, startWhite, startKings);
+        boolean blackToMove = isBlackStarts();
+        bits.setWhiteToMove(!blackToMove);
+        if (!visitor.onPosition(board, blackToMove, 0)) {
+            return 0;
+        }
+
+        int offset = movesOffset;
+        for (int ply = 1; ply <= moveCount; ply++) {
+            int index = data.get(offset++) & 0xFF;
+            if (index == GameRecord.ESCAPE) {
+                index += data.get(offset++) & 0xFF;
+            }
+            if (index >= bits.generateMoves(blackToMove, legalMoves)) {
+                throw new IllegalStateException("Move " + ply + " of the game record is not legal.");
+            }
+            int move = legalMoves.get(index);
+            if (moves != null) {
+                moves[ply - 1] = move;
+            }
+            bits.executeMove(MoveBuffer.from(move), MoveBuffer.to(move), MoveBuffer.capturedSquares(move));
+            blackToMove = !blackToMove;
+            if (!visitor.onPosition(board, blackToMove, ply)) {
+                return ply;
+            }
+        }
+        return moveCount;
+    }
+}
@@ -0,0 +1,14 @@
+package upei.project;
+
+/**
+ * The GameRecordSink interface receives the record of every finished game.
+ * A sink shared by games on several threads must accept records from all of them.
+ */
+public interface GameRecordSink {
+    /**
+     * Called when a game has finished.
+     *
+     * @param record the complete record of the game.
+     */
+    void write(GameRecord record);
+}
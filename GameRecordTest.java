@@ -0,0 +1,94 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    @Test
+    void testRecordReplaysTheGame() {
+        Board board = new Board();
+        Player black = new Player(PieceColor.BLACK, new RandomStrategy());
+        Player white = new Player(PieceColor.WHITE, new DefensiveStrategy());
+        Game game = new Game(black, white, board);
+        List<GameRecord> records = new ArrayList<>();
+        game.setRecordSink(records::add);
+        GameResult result = game.play();
+
+        assertEquals(1, records.size(), "The finished game should be recorded once.");
+        GameRecord record = records.get(0);
+        assertEquals(result.getPlies(), record.getMoveCount(), "Every move should be recorded.");
+        ByteBuffer data = ByteBuffer.allocate(record.encodedSize());
+        record.writeTo(data);
+        assertFalse(data.hasRemaining(), "The encoded size should match the bytes written.");
+
+        // Decode the moves by hand and replay them from the starting position
+        data.flip();
+        assertEquals(record.encodedSize() - Integer.BYTES, data.getInt(), "Wrong record length.");
+        assertEquals(GameRecord.FLAG_BLACK_STARTS, data.get(), "A standard game should not store its start.");
+        int expectedWinner = result.isDraw() ? GameRecord.DRAW
+                : result.getWinner() == black ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS;
+        assertEquals(expectedWinner, data.get(), "Wrong winner.");
+        assertEquals(result.getReason().ordinal(), data.get(), "Wrong termination reason.");
+        assertEquals(result.getPlies(), data.getInt(), "Wrong move count.");
+        byte[] name = new byte[data.get()];
+        data.get(name);
+        assertEquals("RandomStrategy", new String(name), "Wrong Black strategy name.");
+        int whiteNameLength = data.get();
+        data.position(data.position() + whiteNameLength);
+
+        Board replay = new Board();
+        MoveBuffer moves = new MoveBuffer();
+        boolean blackToMove = true;
+        while (data.hasRemaining()) {
+            int index = data.get() & 0xFF;
+            if (index == GameRecord.ESCAPE) {
+                index += data.get() & 0xFF;
+            }
+            replay.getBitBoard().generateMoves(blackToMove, moves);
+            replay.executeMove(MoveBuffer.toMove(moves.get(index)));
+            blackToMove = !blackToMove;
+        }
+        assertEquals(board.getHash(), replay.getHash(), "Replaying the record should reach the final position.");
+    }
+
+    @Test
+    void testWriterRollsFiles() throws IOException {
+        Path directory = Files.createTempDirectory("records");
+        directory.toFile().deleteOnExit();
+        long maxFileBytes = 600;
+        SimulationExperiment experiment = new SimulationExperiment(20);
+        GameRecordWriter writer;
+        try (GameRecordWriter opened = new GameRecordWriter(directory, "selfplay", maxFileBytes)) {
+            writer = opened;
+            experiment.setRecordSink(writer);
+            experiment.run(new RandomStrategy(), new RandomStrategy());
+        }
+
+        // The files are complete once the writer is closed
+        assertEquals(20, writer.getRecordCount(), "Every game should be written.");
+        assertTrue(writer.getFiles().size() > 1, "The archive should roll over to new files.");
+        for (Path file : writer.getFiles()) {
+            file.toFile().deleteOnExit();
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+            assertTrue(data.capacity() <= maxFileBytes, "A file should not grow past the limit.");
+            assertEquals(GameRecordWriter.MAGIC, data.getInt(), "Every file should start with the header.");
+            assertEquals(GameRecordWriter.VERSION, data.getInt(), "Wrong format version.");
+        }
+
+        // A second writer continues the numbering instead of replacing files
+        try (GameRecordWriter next = new GameRecordWriter(directory, "selfplay", maxFileBytes)) {
+            assertTrue(next.getFiles().get(0).getFileName().toString().compareTo("selfplay-00001.cgr") > 0,
+                    "A new writer should start after the existing files.");
+            next.getFiles().get(0).toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package upei.project;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameRecordWriter class archives game records in binary files. Records are collected in a
+ * direct buffer and written through a FileChannel when it fills, and a new file is started once
+ * the current one would grow past the size limit, so an archive of any size stays in files that
+ * are easy to copy and to map. Files are named {@code <prefix>-00000.cgr}, {@code <prefix>-00001.cgr},
+ * and so on; numbering continues after any files already in the directory.
+ *
+ * Each file starts with an 8-byte header (MAGIC, VERSION) followed by records in the format of
+ * {@link GameRecord}. One writer can be shared by games on several threads.
+ */
+public class GameRecordWriter implements GameRecordSink, Closeable {
+    static final int MAGIC = 0x434B4752; // "CKGR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final String EXTENSION = ".cgr";
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileBytes;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final List<Path> files = new ArrayList<>();
+    private int nextFileNumber;
+    private FileChannel channel; // The current file, or null once closed
+    private long fileBytes;      // Bytes written or buffered for the current file
+    private long recordCount;
+
+    /**
+     * Creates a writer and opens its first file.
+     *
+     * @param directory the directory to write to; it is created if needed.
+     * @param prefix the start of every file name.
+     * @param maxFileBytes the size a file may not grow past, unless it holds a single larger record.
+     * @throws IOException if the first file cannot be created.
+     */
+    public GameRecordWriter(Path directory, String prefix, long maxFileBytes) throws IOException {
+        if (maxFileBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Files must be larger than their header.");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxFileBytes = maxFileBytes;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> existing = Files.newDirectoryStream(directory, prefix + "-*" + EXTENSION)) {
+            for (Path path : existing) {
+                String name = path.getFileName().toString();
+                String number = name.substring(prefix.length() + 1, name.length() - EXTENSION.length());
+                if (!number.isEmpty() && number.chars().allMatch(Character::isDigit)) {
+                    nextFileNumber = Math.max(nextFileNumber, Integer.parseInt(number) + 1);
+                }
+            }
+        }
+        openNextFile();
+    }
+
+    private void openNextFile() throws IOException {
+        Path path = directory.resolve(String.format("%s-%05d%s", prefix, nextFileNumber++, EXTENSION));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        files.add(path);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        fileBytes = HEADER_BYTES;
+    }
+
+    /**
+     * Appends a record to the archive.
+     *
+     * @param record the record of a finished game.
+     * @throws UncheckedIOException if the archive cannot be written.
+     */
+    @Override
+    public synchronized void write(GameRecord record) {
+        if (channel == null) {
+            throw new IllegalStateException("The writer is closed.");
+        }
+        int size = record.encodedSize();
+        try {
+            if (fileBytes > HEADER_BYTES && fileBytes + size > maxFileBytes) {
+                flush();
+                channel.close();
+                openNextFile();
+            }
+            if (size > buffer.remaining()) {
+                flush();
+            }
+            if (size > buffer.capacity()) {
+                ByteBuffer large = ByteBuffer.allocate(size);
+                record.writeTo(large);
+                large.flip();
+                writeFully(large);
+            } else {
+                record.writeTo(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fileBytes += size;
+        recordCount++;
+    }
+
+    /**
+     * Writes the buffered records to the current file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * Writes the buffered records and closes the current file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Gets the files this writer has created.
+     *
+     * @return the files, in the order they were written.
+     */
+    public synchronized List<Path> getFiles() {
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * Gets the number of records written.
+     *
+     * @return the record count.
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,100 @@
+package upei.project;
+
+/**
+ * The GameResult class describes how a finished game ended.
+ * It records the winner, why the game ended, and a few statistics about the game.
+ */
+public class GameResult {
+    /**
+     * The reasons a game can end.
+     */
+    public enum TerminationReason {
+        NO_MOVES,        // A player could not make a move
+        FIFTY_MOVE_RULE, // Too many consecutive moves without a capture
+        REPETITION,      // A board state was repeated
+        TABLEBASE        // The endgame tablebase decided the result
+    }
+
+    private final Player winner; // The winning player, or null for a draw
+    private final TerminationReason reason;
+    private final int plies;          // Number of moves executed by both players
+    private final int captures;       // Number of capturing moves executed
+    private final long durationNanos; // Wall-clock time taken to play the game
+
+    /**
+     * Constructor for the GameResult class.
+     *
+     * @param winner the winning player, or null if the game was drawn.
+     * @param reason why the game ended.
+     * @param plies the number of moves executed by both players.
+     * @param captures the number of capturing moves executed.
+     * @param durationNanos the time taken to play the game, in nanoseconds.
+     */
+    public GameResult(Player winner, TerminationReason reason, int plies, int captures, long durationNanos) {
+        this.winner = winner;
+        this.reason = reason;
+        this.plies = plies;
+        this.captures = captures;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Gets the winning player.
+     *
+     * @return the winner, or null if the game was drawn.
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * Checks whether the game was drawn.
+     *
+     * @return true if there is no winner, false otherwise.
+     */
+    public boolean isDraw() {
+        return winner == null;
+    }
+
+    /**
+     * Gets the reason the game ended.
+     *
+     * @return the termination reason.
+     */
+    public TerminationReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Gets the number of moves executed by both players.
+     *
+     * @return the ply count.
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Gets the number of capturing moves executed.
+     *
+     * @return the capture count.
+     */
+    public int getCaptures() {
+        return captures;
+    }
+
+    /**
+     * Gets the time taken to play the game.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameResult[winner=%s, reason=%s, plies=%d, captures=%d, durationNanos=%d]",
+                winner == null ? "Draw" : winner.getColor(), reason, plies, captures, durationNanos);
+    }
+}
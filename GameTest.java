@@ -5,6 +5,11 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,4 +66,96 @@ class GameTest {
         System.out.println("\n--- Overall Results Summary ---");
         allResults.forEach(System.out::println);
     }
+
+    @Test
+    void testPlayReturnsResult() {
+        Player player1 = new Player("Black", new AggressiveStrategy());
+        Player player2 = new Player("White", new DefensiveStrategy());
+        Game game = new Game(player1, player2);
+
+        GameResult result = game.play();
+
+        assertNotNull(result.getReason(), "The game should report why it ended.");
+        assertTrue(game.isGameOver(), "The game should be over after play returns.");
+        assertTrue(result.getPlies() > 0, "At least one move should have been played.");
+        assertTrue(result.getCaptures() <= result.getPlies(), "Captures cannot exceed the number of moves.");
+        assertTrue(result.getDurationNanos() > 0, "The duration should be measured.");
+        if (result.getReason() != GameResult.TerminationReason.NO_MOVES) {
+            assertTrue(result.isDraw(), "A game ended by a draw condition should have no winner.");
+            assertEquals("Draw", game.determineWinner());
+        }
+    }
+
+    @Test
+    void testTimedGameStaysWithinClock() {
+        // Without a clock these searches would take far longer than the game's budget
+        Player player1 = new Player("Black", new AlphaBetaStrategy(30, 0, new MaterialEvaluator()));
+        Player player2 = new Player("White", new MctsStrategy(0, 60_000, 1, MctsStrategy.Parallelism.TREE));
+        Game game = new Game(player1, player2);
+        GameClock clock = new GameClock(2000);
+        game.setClock(clock);
+
+        long startTime = System.nanoTime();
+        GameResult result = game.play();
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        assertTrue(result.getPlies() > 0, "At least one move should have been played.");
+        assertTrue(elapsedMillis < 6000, "Both players together should stay close to their 2 second budgets.");
+        assertTrue(clock.getRemainingMillis(PieceColor.BLACK) < 2000, "Black's thinking time should be charged.");
+        assertTrue(clock.getRemainingMillis(PieceColor.WHITE) < 2000, "White's thinking time should be charged.");
+    }
+
+    @Test
+    void testParallelSimulationPlaysEveryGame() {
+        int numberOfGames = 40;
+        SimulationExperiment experiment = new SimulationExperiment(numberOfGames);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger created = new AtomicInteger();
+        try {
+            Map<String, Integer> results = experiment.runParallel(() -> {
+                created.incrementAndGet();
+                return new RandomStrategy();
+            }, DefensiveStrategy::new, executor, 4);
+
+            int totalGames = results.values().stream().mapToInt(Integer::intValue).sum();
+            assertEquals(numberOfGames, totalGames, "Total games should match the specified number");
+            assertTrue(results.containsKey("RandomStrategy Wins"), "Results should be keyed by strategy name");
+            assertTrue(results.containsKey("DefensiveStrategy Wins"), "Results should be keyed by strategy name");
+            assertEquals(4, created.get(), "Each worker should create one strategy, and none only for its name");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelSimulationStopsAfterAFailedGame() throws InterruptedException {
+        int numberOfGames = 1000;
+        int workers = 4;
+        SimulationExperiment experiment = new SimulationExperiment(numberOfGames);
+        AtomicInteger started = new AtomicInteger();
+        experiment.setListener(new GameListener() {
+            @Override
+            public void onSimulationGame(int gameNumber, int numberOfGames) {
+                started.incrementAndGet();
+            }
+        });
+        AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            assertThrows(IllegalStateException.class, () -> experiment.runParallel(() -> new RandomStrategy() {
+                @Override
+                public Move decideMove(Board board, Player player) {
+                    if (failed.compareAndSet(false, true)) {
+                        throw new IllegalStateException("Strategy failure");
+                    }
+                    return super.decideMove(board, player);
+                }
+            }, RandomStrategy::new, executor, workers), "A failed game should fail the simulation.");
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "The workers should stop.");
+        assertTrue(started.get() <= 2 * workers,
+                "Each worker should finish at most the game it was playing, not " + started.get() + " games.");
+    }
 }
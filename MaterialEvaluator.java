@@ -0,0 +1,60 @@
+package upei.project;
+
+/**
+ * MaterialEvaluator scores a position by the pieces each side has left.
+ * Kings are worth more than regular pieces, and regular pieces gain a little
+ * value for every row they have advanced towards promotion.
+ * It scores single positions for searches and whole batches of children alike.
+ */
+public class MaterialEvaluator implements Evaluator, BatchEvaluator {
+    private static final int MAN_VALUE = 100;
+    private static final int KING_VALUE = 160;
+    private static final int ADVANCE_VALUE = 2; // Per row advanced
+
+    // Rows of the board as masks, row 0 first
+    private static final long[] ROWS = new long[8];
+
+    static {
+        for (int row = 0; row < 8; row++) {
+            ROWS[row] = 0xFFL << (row * 8);
+        }
+    }
+
+    @Override
+    public int evaluate(Board board, Player player) {
+        BitBoard bits = board.getBitBoard();
+        int score = material(bits.getBlack(), bits.getKings(), true)
+                - material(bits.getWhite(), bits.getKings(), false);
+        return player.isBlack() ? score : -score;
+    }
+
+    @Override
+    public void evaluate(PositionBatch batch, boolean forBlack, int[] scores) {
+        long[] black = batch.blackMasks();
+        long[] white = batch.whiteMasks();
+        long[] kings = batch.kingMasks();
+        int sign = forBlack ? 1 : -1;
+        int size = batch.size();
+        for (int i = 0; i < size; i++) {
+            scores[i] = sign * (material(black[i], kings[i], true) - material(white[i], kings[i], false));
+        }
+    }
+
+    /**
+     * Scores one side's pieces.
+     *
+     * @param pieces the side's pieces.
+     * @param kings all kings on the board.
+     * @param isBlack whether the side is Black, which advances down the board.
+     * @return the side's material score.
+     */
+    private int material(long pieces, long kings, boolean isBlack) {
+        long men = pieces & ~kings;
+        int score = Long.bitCount(men) * MAN_VALUE + Long.bitCount(pieces & kings) * KING_VALUE;
+        for (int row = 1; row < 8; row++) {
+            int advanced = isBlack ? row : 7 - row;
+            score += Long.bitCount(men & ROWS[row]) * advanced * ADVANCE_VALUE;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,434 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * MctsStrategy chooses moves with Monte Carlo Tree Search (UCT). Each playout walks down the
+ * search tree, taking the move with the best upper confidence bound at every node, adds the moves
+ * of the position it reaches to the tree, and finishes the game with random moves, the way
+ * {@link RandomStrategy} plays. The result is credited to every move on the path, and the move
+ * played is the one that was searched most.
+ *
+ * The search can use several threads. With tree parallelism the threads share one tree and put
+ * a virtual loss on the nodes they are exploring, so that the other threads look elsewhere.
+ * With root parallelism every thread grows its own tree and the visits of the root moves are
+ * added up at the end. All instances search on one shared pool of daemon threads, so strategies
+ * created per game or per worker hold no threads of their own; idle threads end after a minute.
+ *
+ * Playouts follow the game's rules: the game ends when either side cannot move and is won by the
+ * side with more pieces, and it is drawn after 50 moves without a capture (counted from the root).
+ *
+ * {@link SearchLimits} passed with a move tighten the playout and time budget; a playout counts
+ * as a node. The depth limit does not apply, since playouts always finish the game.
+ */
+public class MctsStrategy implements Strategy {
+
+    /**
+     * How the search is split between threads.
+     */
+    public enum Parallelism {
+        TREE, // All threads share one tree
+        ROOT  // Each thread grows its own tree
+    }
+
+    private static final double EXPLORATION = 1.4; // UCT exploration constant, about the square root of 2
+    private static final int VIRTUAL_LOSS = 3;     // Visits without reward added while a thread explores a node
+    private static final int NO_CAPTURE_LIMIT = 50;
+    private static final int MAX_PLAYOUT_PLIES = 500;
+
+    // Outcomes of a playout
+    private static final int BLACK_WINS = 1;
+    private static final int WHITE_WINS = -1;
+    private static final int DRAW = 0;
+
+    // Shared by all instances; a cached pool keeps idle threads for a minute, then lets them end
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcts-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int playouts;        // 0 means no playout limit
+    private final long timeLimitNanos; // 0 means no time limit
+    private final int threads;
+    private final Parallelism parallelism;
+    private final SplittableRandom seeds = new SplittableRandom();
+
+    // Statistics of the last search
+    private long lastPlayouts;
+    private long lastElapsedNanos;
+    private int lastDepth;
+
+    private GameListener listener = GameListener.NONE;
+
+    /**
+     * Creates a single-threaded strategy that runs 1000 playouts per move.
+     */
+    public MctsStrategy() {
+        this(1000, 0, 1, Parallelism.TREE);
+    }
+
+    /**
+     * Creates a single-threaded strategy with a fixed number of playouts per move.
+     *
+     * @param playouts the number of playouts per move.
+     */
+    public MctsStrategy(int playouts) {
+        this(playouts, 0, 1, Parallelism.TREE);
+    }
+
+    /**
+     * Creates a strategy with the given budget and threads. The search stops at whichever limit
+     * it reaches first.
+     *
+     * @param playouts the number of playouts per move, or 0 for no limit.
+     * @param timeLimitMillis the time allowed per move in milliseconds, or 0 for no limit.
+     * @param threads the number of threads to search with.
+     * @param parallelism how the threads share the search.
+     */
+    public MctsStrategy(int playouts, long timeLimitMillis, int threads, Parallelism parallelism) {
+        if (playouts < 0 || timeLimitMillis < 0) {
+            throw new IllegalArgumentException("Limits cannot be negative.");
+        }
+        if (playouts == 0 && timeLimitMillis == 0) {
+            throw new IllegalArgumentException("A playout or time limit is required.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        this.playouts = playouts;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.threads = threads;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * A position in the search tree, reached by a move. Counters are updated atomically
+     * so that several threads can share the tree.
+     */
+    private static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> REWARD =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "reward");
+
+        final Node parent;
+        final int move;          // The packed move that leads here, or -1 for the root
+        final boolean blackMoved; // Whether Black made that move
+        volatile Node[] children; // null until the node is expanded
+        volatile int visits;
+        volatile int reward;     // Half points for the side that made the move: 2 per win, 1 per draw
+
+        Node(Node parent, int move, boolean blackMoved) {
+            this.parent = parent;
+            this.move = move;
+            this.blackMoved = blackMoved;
+        }
+    }
+
+    /**
+     * Per-thread search state, so that playouts allocate nothing but a board copy.
+     */
+    private static final class Worker {
+        final MoveBuffer moves = new MoveBuffer();
+        final SplittableRandom random;
+        int maxDepth;
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+    }
+
+    /**
+     * Decides a move by running playouts until the budget is used up.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @return The most visited move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player) {
+        return decideMove(board, player, SearchLimits.none());
+    }
+
+    /**
+     * Decides a move by running playouts until this strategy's budget or the given limits
+     * are used up, or the search is asked to stop.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @param limits Additional limits on the search.
+     * @return The most visited move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player, SearchLimits limits) {
+        long startTime = System.nanoTime();
+        long deadline = SearchLimits.earlier(timeLimitNanos > 0 ? startTime + timeLimitNanos : 0, limits.deadline(startTime));
+        BitBoard rootBits = board.getBitBoard().copy();
+        boolean isBlack = player.isBlack();
+
+        MoveBuffer rootMoves = new MoveBuffer();
+        int count = rootBits.generateMoves(isBlack, rootMoves);
+        if (count == 0) {
+            return null; // No valid moves
+        }
+        if (count == 1) {
+            listener.onMoveChosen(player, rootMoves.get(0));
+            return MoveBuffer.toMove(rootMoves.get(0)); // Nothing to search
+        }
+
+        long maxPlayouts = Math.min(playouts > 0 ? playouts : Integer.MAX_VALUE,
+                limits.getMaxNodes() > 0 ? limits.getMaxNodes() : Integer.MAX_VALUE);
+        AtomicInteger budget = new AtomicInteger((int) maxPlayouts);
+        Node[] roots = new Node[parallelism == Parallelism.ROOT ? threads : 1];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = new Node(null, -1, !isBlack);
+        }
+        int virtualLoss = parallelism == Parallelism.TREE && threads > 1 ? VIRTUAL_LOSS : 0;
+
+        List<Callable<Worker>> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Node root = roots[parallelism == Parallelism.ROOT ? i : 0];
+            Worker worker = new Worker(seeds.split());
+            tasks.add(() -> {
+                while ((deadline == 0 || System.nanoTime() < deadline) && !limits.isStopped()
+                        && budget.getAndDecrement() > 0) {
+                    playout(root, rootBits, isBlack, virtualLoss, worker);
+                }
+                return worker;
+            });
+        }
+        int maxDepth = runAll(tasks);
+
+        // Add up the visits of each root move over all trees; children are in generation order
+        int[] visits = new int[count];
+        long total = 0;
+        for (Node root : roots) {
+            Node[] children = root.children;
+            if (children != null) {
+                for (int i = 0; i < count; i++) {
+                    visits[i] += children[i].visits;
+                }
+            }
+            total += root.visits;
+        }
+        int best = 0;
+        for (int i = 0; i < count; i++) {
+            listener.onMoveEvaluated(player, rootMoves.get(i), visits[i]);
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+
+        lastPlayouts = total;
+        lastElapsedNanos = System.nanoTime() - startTime;
+        lastDepth = maxDepth;
+        listener.onSearchCompleted(player, lastDepth, lastPlayouts, lastElapsedNanos);
+        listener.onMoveChosen(player, rootMoves.get(best));
+        return MoveBuffer.toMove(rootMoves.get(best));
+    }
+
+    /**
+     * Runs the search tasks, on the calling thread when there is only one.
+     *
+     * @return the deepest tree depth any task reached.
+     */
+    private int runAll(List<Callable<Worker>> tasks) {
+        int maxDepth = 0;
+        try {
+            if (threads == 1) {
+                for (Callable<Worker> task : tasks) {
+                    maxDepth = Math.max(maxDepth, task.call().maxDepth);
+                }
+                return maxDepth;
+            }
+            List<Future<Worker>> futures = new ArrayList<>(tasks.size());
+            for (Callable<Worker> task : tasks) {
+                futures.add(WORKERS.submit(task));
+            }
+            try {
+                for (Future<Worker> future : futures) {
+                    maxDepth = Math.max(maxDepth, future.get().maxDepth);
+                }
+            } finally {
+                futures.forEach(future -> future.cancel(true));
+            }
+            return maxDepth;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed.", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Search failed.", e);
+        }
+    }
+
+    /**
+     * Runs one playout: selects a path down the tree, expands its last node, finishes the game
+     * with random moves and credits the result to every node on the path.
+     */
+    private void playout(Node root, BitBoard rootBits, boolean rootBlack, int virtualLoss, Worker worker) {
+        BitBoard bits = rootBits.copy();
+        boolean blackToMove = rootBlack;
+        int movesWithoutCapture = 0;
+        int depth = 0;
+
+        // Selection: follow the best bound until reaching a node that has not been expanded
+        Node node = root;
+        Node.VISITS.addAndGet(node, virtualLoss);
+        Node[] children;
+        while ((children = node.children) != null && children.length > 0) {
+            node = select(node, children);
+            Node.VISITS.addAndGet(node, virtualLoss);
+            bits.makeMove(node.move);
+            movesWithoutCapture = MoveBuffer.isCapture(node.move) ? 0 : movesWithoutCapture + 1;
+            blackToMove = !blackToMove;
+            depth++;
+        }
+        worker.maxDepth = Math.max(worker.maxDepth, depth);
+
+        // Expansion and simulation
+        int outcome = outcome(bits, movesWithoutCapture);
+        if (outcome == Integer.MIN_VALUE) {
+            expand(node, bits, blackToMove, worker.moves);
+            outcome = simulate(bits, blackToMove, movesWithoutCapture, worker);
+        } else if (node.children == null) {
+            node.children = new Node[0]; // The game is over here
+        }
+
+        // Backpropagation, replacing the virtual loss by the real visit
+        for (Node n = node; n != null; n = n.parent) {
+            Node.VISITS.addAndGet(n, 1 - virtualLoss);
+            int reward = outcome == DRAW ? 1 : (outcome == BLACK_WINS) == n.blackMoved ? 2 : 0;
+            Node.REWARD.addAndGet(n, reward);
+        }
+    }
+
+    /**
+     * Picks the child with the highest upper confidence bound; unvisited children come first.
+     */
+    private static Node select(Node node, Node[] children) {
+        double logVisits = Math.log(Math.max(1, node.visits));
+        Node best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+            int visits = child.visits;
+            if (visits == 0) {
+                return child;
+            }
+            double value = child.reward / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds the moves of a position to the tree, unless another thread already has.
+     */
+    private static void expand(Node node, BitBoard bits, boolean blackToMove, MoveBuffer moves) {
+        if (node.children != null) {
+            return;
+        }
+        int count = bits.generateMoves(blackToMove, moves);
+        Node[] children = new Node[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = new Node(node, moves.get(i), blackToMove);
+        }
+        synchronized (node) {
+            if (node.children == null) {
+                node.children = children;
+            }
+        }
+    }
+
+    /**
+     * Finishes a game with uniformly random moves.
+     *
+     * @return BLACK_WINS, WHITE_WINS or DRAW.
+     */
+    private static int simulate(BitBoard bits, boolean blackToMove, int movesWithoutCapture, Worker worker) {
+        MoveBuffer moves = worker.moves;
+        for (int ply = 0; ply < MAX_PLAYOUT_PLIES; ply++) {
+            int count = bits.generateMoves(blackToMove, moves);
+            int move = moves.get(worker.random.nextInt(count));
+            bits.makeMove(move);
+            movesWithoutCapture = MoveBuffer.isCapture(move) ? 0 : movesWithoutCapture + 1;
+            blackToMove = !blackToMove;
+
+            int outcome = outcome(bits, movesWithoutCapture);
+            if (outcome != Integer.MIN_VALUE) {
+                return outcome;
+            }
+        }
+        return DRAW;
+    }
+
+    /**
+     * Decides whether the game is over, the way {@link Game} does.
+     *
+     * @return BLACK_WINS, WHITE_WINS or DRAW if the game is over, otherwise Integer.MIN_VALUE.
+     */
+    private static int outcome(BitBoard bits, int movesWithoutCapture) {
+        if (movesWithoutCapture >= NO_CAPTURE_LIMIT) {
+            return DRAW;
+        }
+        if (bits.hasAnyMove(true) && bits.hasAnyMove(false)) {
+            return Integer.MIN_VALUE;
+        }
+        return Integer.signum(Long.bitCount(bits.getBlack()) - Long.bitCount(bits.getWhite()));
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the number of playouts run by the last search.
+     *
+     * @return the playout count.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Gets the time taken by the last search.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    /**
+     * Gets the deepest tree depth reached by the last search.
+     *
+     * @return the depth in plies.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Gets the search speed of the last search.
+     *
+     * @return the number of playouts per second.
+     */
+    public long getPlayoutsPerSecond() {
+        return lastElapsedNanos > 0 ? lastPlayouts * 1_000_000_000L / lastElapsedNanos : 0;
+    }
+}
@@ -0,0 +1,108 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsStrategyTest {
+
+    /**
+     * Creates a board with no pieces on it.
+     */
+    private Board emptyBoard() {
+        Board board = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                board.removePieceAt(row, col);
+            }
+        }
+        return board;
+    }
+
+    @Test
+    void testMctsStrategyNoMoves() {
+        Board board = emptyBoard();
+        MctsStrategy strategy = new MctsStrategy(100);
+        Player blackPlayer = new Player("Black", strategy);
+
+        assertNull(strategy.decideMove(board, blackPlayer), "No move should be chosen when there are no pieces.");
+    }
+
+    @Test
+    void testMctsStrategyAvoidsLosingItsPiece() {
+        Board board = emptyBoard();
+        MctsStrategy strategy = new MctsStrategy(2000);
+        Player blackPlayer = new Player("Black", strategy);
+
+        // Moving to (3, 2) lets White jump from (4, 1) and win; (3, 4) is safe
+        board.placePieceAt(2, 3, new RegularPiece("Black"));
+        board.placePieceAt(4, 1, new RegularPiece("White"));
+
+        Move move = strategy.decideMove(board, blackPlayer);
+
+        assertEquals(new Move(2, 3, 3, 4, false), move, "The playouts should find the losing move and avoid it.");
+    }
+
+    @Test
+    void testMctsStrategyReportsPlayouts() {
+        Board board = new Board();
+        MctsStrategy strategy = new MctsStrategy(500);
+        Player blackPlayer = new Player("Black", strategy);
+        long hashBefore = board.getHash();
+
+        Move move = strategy.decideMove(board, blackPlayer);
+
+        assertTrue(board.getValidMoves(blackPlayer).contains(move), "The chosen move should be valid.");
+        assertEquals(hashBefore, board.getHash(), "Searching should not modify the board.");
+        assertEquals(500, strategy.getLastPlayouts(), "The whole playout budget should be used.");
+        assertTrue(strategy.getLastDepth() > 0, "The tree should grow below the root.");
+        assertTrue(strategy.getPlayoutsPerSecond() > 0, "The search speed should be reported.");
+    }
+
+    @Test
+    void testMctsStrategyParallelSearch() {
+        for (MctsStrategy.Parallelism parallelism : MctsStrategy.Parallelism.values()) {
+            Board board = new Board();
+            MctsStrategy strategy = new MctsStrategy(2000, 0, 4, parallelism);
+            Player whitePlayer = new Player("White", strategy);
+
+            Move move = strategy.decideMove(board, whitePlayer);
+
+            assertTrue(board.getValidMoves(whitePlayer).contains(move), parallelism + ": the chosen move should be valid.");
+            assertEquals(2000, strategy.getLastPlayouts(), parallelism + ": every playout should be counted once.");
+        }
+    }
+
+    @Test
+    void testMctsStrategiesShareWorkerThreads() {
+        Board board = new Board();
+        Player black = new Player(PieceColor.BLACK, new RandomStrategy());
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(new MctsStrategy(40, 0, 4, MctsStrategy.Parallelism.TREE).decideMove(board, black),
+                    "Every strategy should find a move.");
+        }
+        long workers = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("mcts-worker")).count();
+        assertTrue(workers < 20 * 4, "Strategies should reuse the shared worker threads, found " + workers + ".");
+    }
+
+    @Test
+    void testMctsStrategyRespectsTimeLimit() {
+        Board board = new Board();
+        MctsStrategy strategy = new MctsStrategy(0, 50, 2, MctsStrategy.Parallelism.TREE);
+        Player blackPlayer = new Player("Black", strategy);
+
+        long start = System.nanoTime();
+        Move move = strategy.decideMove(board, blackPlayer);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(move, "A move should be selected when the time runs out.");
+        assertTrue(elapsedMillis < 1000, "The search should stop close to its time limit.");
+    }
+
+    @Test
+    void testMctsStrategyRejectsMissingLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(0, 0, 1, MctsStrategy.Parallelism.TREE),
+                "A search without any limit should be rejected.");
+    }
+}
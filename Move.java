@@ -1,10 +1,13 @@
 package upei.project;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * The Move class represents a single action a player takes during their turn.
  * It includes the start and end positions, and whether the move is a capture.
+ * A capture can chain several jumps; the move then also records the path of squares
+ * the piece lands on and the squares of all captured pieces.
  */
 public class Move {
     private final int startX; // Row index of the starting position
@@ -12,6 +15,8 @@ public class Move {
     private final int endX;   // Row index of the ending position
     private final int endY;   // Column index of the ending position
     private final boolean isCapture; // Whether this move involves capturing an opponent's piece
+    private final int[] path; // Squares visited (row * 8 + col), starting square first
+    private final long capturedSquares; // Mask of the squares whose pieces are captured
 
     /**
      * Constructor for the Move class.
@@ -28,6 +33,27 @@ public class Move {
         this.endX = endX;
         this.endY = endY;
         this.isCapture = isCapture;
+        this.path = new int[]{startX * 8 + startY, endX * 8 + endY};
+        this.capturedSquares = isCapture ? 1L << ((startX + endX) / 2 * 8 + (startY + endY) / 2) : 0L;
+    }
+
+    /**
+     * Constructor for a capture that chains one or more jumps.
+     *
+     * @param path the squares visited (row * 8 + col), starting square first.
+     * @param capturedSquares a mask with one bit per captured square.
+     */
+    public Move(int[] path, long capturedSquares) {
+        if (path.length < 2 || capturedSquares == 0) {
+            throw new IllegalArgumentException("A capture needs a path of at least two squares.");
+        }
+        this.startX = path[0] >>> 3;
+        this.startY = path[0] & 7;
+        this.endX = path[path.length - 1] >>> 3;
+        this.endY = path[path.length - 1] & 7;
+        this.isCapture = true;
+        this.path = path.clone();
+        this.capturedSquares = capturedSquares;
     }
 
     /**
@@ -75,6 +101,33 @@ public class Move {
         return isCapture;
     }
 
+    /**
+     * Gets the squares the piece visits, starting square first.
+     *
+     * @return a copy of the path (row * 8 + col for each square).
+     */
+    public int[] getPath() {
+        return path.clone();
+    }
+
+    /**
+     * Gets the squares of the pieces this move captures.
+     *
+     * @return a mask with one bit per captured square, or 0 if the move is not a capture.
+     */
+    public long getCapturedSquares() {
+        return capturedSquares;
+    }
+
+    /**
+     * Gets the number of jumps in the move.
+     *
+     * @return the number of pieces captured, or 0 for a plain move.
+     */
+    public int getJumpCount() {
+        return isCapture ? path.length - 1 : 0;
+    }
+
     /**
      * Checks whether the move is risky (simple placeholder for demonstration).
      * A move could be considered risky if it leaves the piece vulnerable.
@@ -88,8 +141,11 @@ public class Move {
 
     @Override
     public String toString() {
-        return String.format("Move[%d,%d -> %d,%d, capture=%b]",
-                startX, startY, endX, endY, isCapture);
+        StringBuilder squares = new StringBuilder();
+        for (int i = 0; i < path.length; i++) {
+            squares.append(i == 0 ? "" : " -> ").append(path[i] >>> 3).append(',').append(path[i] & 7);
+        }
+        return String.format("Move[%s, capture=%b]", squares, isCapture);
     }
 
     @Override
@@ -101,12 +157,14 @@ public class Move {
                 startY == move.startY &&
                 endX == move.endX &&
                 endY == move.endY &&
-                isCapture == move.isCapture;
+                isCapture == move.isCapture &&
+                capturedSquares == move.capturedSquares &&
+                Arrays.equals(path, move.path);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(startX, startY, endX, endY, isCapture);
+        return Objects.hash(startX, startY, endX, endY, isCapture, capturedSquares);
     }
 
 
@@ -0,0 +1,269 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MoveBuffer class is a reusable, fixed-size store of moves packed into ints.
+ * Move generators write into it instead of allocating a Move object per candidate,
+ * so the same buffer can be cleared and refilled on every ply without creating garbage.
+ *
+ * A packed move holds the starting square in bits 0-5 (squares are numbered
+ * {@code row * 8 + col}) and the number of jumps in bits 6-9, 0 for a plain move.
+ * From bit 10 on, each step of the move takes two bits giving its diagonal direction
+ * (0 up-left, 1 up-right, 2 down-left, 3 down-right): the single direction of a plain move,
+ * or the direction of every jump of a capture in order. The destination and the captured
+ * squares follow from the path. A capture can chain at most nine jumps on an 8x8 board
+ * (the squares a jumping piece can pass over form a 3x3 grid), so a packed move uses
+ * at most 28 bits and is never negative.
+ */
+public class MoveBuffer {
+    // A piece has at most four plain moves, and positions from play have far fewer capture chains.
+    public static final int CAPACITY = 256;
+
+    // The longest possible chain of jumps
+    public static final int MAX_JUMPS = 9;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int JUMPS_SHIFT = 6;
+    private static final int JUMPS_MASK = 0xF;
+    private static final int DIRECTIONS_SHIFT = 10;
+
+    // Square offset of one step in each direction: up-left, up-right, down-left, down-right
+    private static final int[] DELTAS = {-9, -7, 7, 9};
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    /**
+     * Packs a plain move or a single jump into an int.
+     *
+     * @param from the starting square.
+     * @param to the destination square, one diagonal step away (two for a capture).
+     * @param captured the square of the captured piece, or -1 if the move is not a capture.
+     * @return the packed move.
+     */
+    public static int pack(int from, int to, int captured) {
+        int step = captured < 0 ? to - from : (to - from) / 2;
+        return from | (captured < 0 ? 0 : 1 << JUMPS_SHIFT) | directionOf(step) << DIRECTIONS_SHIFT;
+    }
+
+    /**
+     * Packs a capture of one or more jumps into an int.
+     *
+     * @param from the starting square.
+     * @param jumps the number of jumps (1 to {@link #MAX_JUMPS}).
+     * @param directions the direction of each jump, two bits per jump with the first jump lowest.
+     * @return the packed move.
+     */
+    public static int packCapture(int from, int jumps, int directions) {
+        return from | jumps << JUMPS_SHIFT | directions << DIRECTIONS_SHIFT;
+    }
+
+    /**
+     * Packs a Move object into an int.
+     *
+     * @param move the move to pack.
+     * @return the packed move.
+     */
+    public static int pack(Move move) {
+        int[] path = move.getPath();
+        int from = path[0];
+        if (!move.isCapture()) {
+            return pack(from, path[1], -1);
+        }
+        int directions = 0;
+        for (int i = 1; i < path.length; i++) {
+            directions |= directionOf((path[i] - path[i - 1]) / 2) << (2 * (i - 1));
+        }
+        return packCapture(from, path.length - 1, directions);
+    }
+
+    /**
+     * Gets the direction index of a single diagonal step.
+     */
+    private static int directionOf(int step) {
+        for (int dir = 0; dir < DELTAS.length; dir++) {
+            if (DELTAS[dir] == step) {
+                return dir;
+            }
+        }
+        throw new IllegalArgumentException("A move must follow a diagonal.");
+    }
+
+    /**
+     * Gets the starting square of a packed move.
+     *
+     * @param move the packed move.
+     * @return the starting square.
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the destination square of a packed move.
+     *
+     * @param move the packed move.
+     * @return the destination square.
+     */
+    public static int to(int move) {
+        int jumps = jumpCount(move);
+        if (jumps == 0) {
+            return from(move) + DELTAS[direction(move, 0)];
+        }
+        int square = from(move);
+        for (int i = 0; i < jumps; i++) {
+            square += 2 * DELTAS[direction(move, i)];
+        }
+        return square;
+    }
+
+    /**
+     * Checks whether a packed move is a capture.
+     *
+     * @param move the packed move.
+     * @return true if the move is a capture, false otherwise.
+     */
+    public static boolean isCapture(int move) {
+        return jumpCount(move) != 0;
+    }
+
+    /**
+     * Gets the number of jumps in a packed move.
+     *
+     * @param move the packed move.
+     * @return the number of pieces the move captures, or 0 for a plain move.
+     */
+    public static int jumpCount(int move) {
+        return (move >>> JUMPS_SHIFT) & JUMPS_MASK;
+    }
+
+    /**
+     * Gets the direction of one step of a packed move.
+     *
+     * @param move the packed move.
+     * @param step the index of the jump (0 for the first), or 0 for a plain move.
+     * @return the direction: 0 up-left, 1 up-right, 2 down-left or 3 down-right.
+     */
+    public static int direction(int move, int step) {
+        return (move >>> (DIRECTIONS_SHIFT + 2 * step)) & 0x3;
+    }
+
+    /**
+     * Gets the square of the first piece captured by a packed move.
+     *
+     * @param move the packed move.
+     * @return the first captured square, or -1 if the move is not a capture.
+     */
+    public static int captured(int move) {
+        return isCapture(move) ? from(move) + DELTAS[direction(move, 0)] : -1;
+    }
+
+    /**
+     * Gets the squares of all pieces captured by a packed move.
+     *
+     * @param move the packed move.
+     * @return a mask with one bit per captured square, or 0 if the move is not a capture.
+     */
+    public static long capturedSquares(int move) {
+        long captured = 0;
+        int square = from(move);
+        for (int i = 0, jumps = jumpCount(move); i < jumps; i++) {
+            int delta = DELTAS[direction(move, i)];
+            captured |= 1L << (square + delta);
+            square += 2 * delta;
+        }
+        return captured;
+    }
+
+    /**
+     * Converts a packed move into a Move object.
+     *
+     * @param move the packed move.
+     * @return the equivalent Move.
+     */
+    public static Move toMove(int move) {
+        int from = from(move);
+        int jumps = jumpCount(move);
+        if (jumps <= 1) {
+            int to = to(move);
+            return new Move(from >>> 3, from & 7, to >>> 3, to & 7, jumps == 1);
+        }
+        int[] path = new int[jumps + 1];
+        path[0] = from;
+        for (int i = 0; i < jumps; i++) {
+            path[i + 1] = path[i] + 2 * DELTAS[direction(move, i)];
+        }
+        return new Move(path, capturedSquares(move));
+    }
+
+    /**
+     * Removes all moves from the buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a packed move to the buffer.
+     *
+     * @param move the packed move.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the packed move at an index.
+     *
+     * @param index the index (0 to size - 1).
+     * @return the packed move.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Swaps two moves in the buffer, for callers that reorder moves before trying them.
+     *
+     * @param i the index of the first move.
+     * @param j the index of the second move.
+     */
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+
+    /**
+     * Gets the number of moves in the buffer.
+     *
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the buffer holds no moves.
+     *
+     * @return true if the buffer is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the buffer into a list of Move objects, for callers that work with lists.
+     *
+     * @return a new list holding the moves in generation order.
+     */
+    public List<Move> toList() {
+        List<Move> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(toMove(moves[i]));
+        }
+        return list;
+    }
+}
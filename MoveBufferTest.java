@@ -0,0 +1,57 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveBufferTest {
+
+    @Test
+    void testPackAndUnpack() {
+        int move = MoveBuffer.pack(BitBoard.square(2, 3), BitBoard.square(4, 5), BitBoard.square(3, 4));
+
+        assertEquals(BitBoard.square(2, 3), MoveBuffer.from(move));
+        assertEquals(BitBoard.square(4, 5), MoveBuffer.to(move));
+        assertTrue(MoveBuffer.isCapture(move), "The move should be a capture.");
+        assertEquals(BitBoard.square(3, 4), MoveBuffer.captured(move));
+        assertEquals(new Move(2, 3, 4, 5, true), MoveBuffer.toMove(move));
+        assertEquals(move, MoveBuffer.pack(new Move(2, 3, 4, 5, true)), "Packing a Move should round-trip.");
+    }
+
+    @Test
+    void testBufferIsReusable() {
+        Board board = new Board();
+        Player blackPlayer = new Player("Black", new RandomStrategy());
+        MoveBuffer buffer = new MoveBuffer();
+
+        int count = board.generateMoves(blackPlayer, buffer);
+        assertEquals(7, count, "Black has seven opening moves.");
+        assertEquals(board.getValidMoves(blackPlayer), buffer.toList(), "The list adapter should match the buffer.");
+
+        // Refilling clears the previous moves
+        assertEquals(count, board.generateMoves(blackPlayer, buffer));
+        assertEquals(count, buffer.size());
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty(), "The buffer should be empty after clearing.");
+        List<Move> moves = buffer.toList();
+        assertTrue(moves.isEmpty(), "An empty buffer should convert to an empty list.");
+    }
+
+    @Test
+    void testPackCaptureChain() {
+        int[] path = {BitBoard.square(2, 1), BitBoard.square(4, 3), BitBoard.square(6, 5), BitBoard.square(4, 7)};
+        long captured = 1L << BitBoard.square(3, 2) | 1L << BitBoard.square(5, 4) | 1L << BitBoard.square(5, 6);
+        Move chain = new Move(path, captured);
+
+        int move = MoveBuffer.pack(chain);
+        assertEquals(3, MoveBuffer.jumpCount(move));
+        assertEquals(BitBoard.square(2, 1), MoveBuffer.from(move));
+        assertEquals(BitBoard.square(4, 7), MoveBuffer.to(move));
+        assertEquals(BitBoard.square(3, 2), MoveBuffer.captured(move), "The first jumped square should be reported.");
+        assertEquals(captured, MoveBuffer.capturedSquares(move));
+        assertEquals(chain, MoveBuffer.toMove(move), "Unpacking should restore the whole path.");
+    }
+}
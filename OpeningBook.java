@@ -0,0 +1,161 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * The OpeningBook class holds moves for the opening positions, read from a file written by
+ * {@link OpeningBookBuilder}. Looking up a book move is much cheaper than searching, and since
+ * every game starts from the same position, the same early positions come up again and again.
+ *
+ * The file is memory-mapped rather than read, so opening a book costs almost nothing and the
+ * operating system shares its pages between processes. It starts with a 12-byte header
+ * (magic number, version, entry count), followed by 16-byte entries (position key, packed move,
+ * weight) sorted by key, so the moves of a position are adjacent and found by binary search.
+ * Keys are the Zobrist hashes of the positions with the side to move, which are stable between runs.
+ *
+ * A book is read-only once loaded and can be shared between threads.
+ */
+public class OpeningBook {
+    static final int MAGIC = 0x434B4F42; // "CKOB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int ENTRY_BYTES = 16;
+
+    private final ByteBuffer data; // The mapped file
+    private final int size;        // Number of entries
+
+    private OpeningBook(ByteBuffer data) {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an opening book file.");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported opening book version: " + data.getInt(4));
+        }
+        this.size = data.getInt(8);
+        if (size < 0 || (long) HEADER_BYTES + (long) size * ENTRY_BYTES > data.capacity()) {
+            throw new IllegalArgumentException("The opening book file is truncated.");
+        }
+        this.data = data;
+    }
+
+    /**
+     * Opens a book file by mapping it into memory.
+     *
+     * @param path the book file.
+     * @return the book.
+     * @throws IOException if the file cannot be read.
+     */
+    public static OpeningBook load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the key of a position in the book.
+     *
+     * @param board the position.
+     * @param blackToMove whether Black is to move.
+     * @return the Zobrist hash of the position with the given side to move.
+     */
+    public static long key(Board board, boolean blackToMove) {
+        BitBoard bits = board.getBitBoard();
+        long hash = bits.getHash();
+        return bits.isWhiteToMove() == blackToMove ? hash ^ Zobrist.side() : hash;
+    }
+
+    /**
+     * Gets the number of entries in the book.
+     *
+     * @return the number of position and move pairs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Picks a book move for a position, with a chance proportional to its weight.
+     * Moves that are not legal in the position (which can only happen if two positions share
+     * a key) are skipped.
+     *
+     * @param board the position.
+     * @param blackToMove whether Black is to move.
+     * @param random the source of randomness for the choice.
+     * @return the packed move, or -1 if the book has no move for the position.
+     */
+    public int probe(Board board, boolean blackToMove, Random random) {
+        long key = key(board, blackToMove);
+        int first = firstIndex(key);
+        if (first == size || keyAt(first) != key) {
+            return -1;
+        }
+
+        MoveBuffer legal = new MoveBuffer();
+        board.getBitBoard().generateMoves(blackToMove, legal);
+        long totalWeight = 0;
+        int end = first;
+        for (; end < size && keyAt(end) == key; end++) {
+            if (contains(legal, moveAt(end))) {
+                totalWeight += weightAt(end);
+            }
+        }
+        if (totalWeight == 0) {
+            return -1;
+        }
+
+        long pick = (long) (random.nextDouble() * totalWeight);
+        for (int i = first; i < end; i++) {
+            if (contains(legal, moveAt(i))) {
+                pick -= weightAt(i);
+                if (pick < 0) {
+                    return moveAt(i);
+                }
+            }
+        }
+        return -1; // Not reached
+    }
+
+    /**
+     * Finds the first entry whose key is not less than the given key.
+     */
+    private int firstIndex(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return data.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private int moveAt(int index) {
+        return data.getInt(HEADER_BYTES + index * ENTRY_BYTES + 8);
+    }
+
+    private int weightAt(int index) {
+        return data.getInt(HEADER_BYTES + index * ENTRY_BYTES + 12);
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
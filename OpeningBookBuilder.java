@@ -0,0 +1,179 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * The OpeningBookBuilder class builds an {@link OpeningBook} from self-play games.
+ * A strategy plays itself from the starting position; during the opening it sometimes plays a
+ * random move instead, so that the games spread over many openings. Every opening move played is
+ * recorded with a weight from the result of the game for the side that played it: 2 for a win,
+ * 1 for a draw and nothing for a loss. Moves that only ever lost are left out of the book.
+ *
+ * A builder keeps its counts in memory and is not meant to be shared across threads.
+ */
+public class OpeningBookBuilder {
+    private static final int WIN_WEIGHT = 2;
+    private static final int DRAW_WEIGHT = 1;
+
+    private final int plies;
+    private final double explorationRate;
+    private final Random random;
+    // Weights of the moves played, by position key and then packed move
+    private final Map<Long, Map<Integer, Integer>> weights = new TreeMap<>();
+
+    /**
+     * Creates a builder.
+     *
+     * @param plies the number of opening moves (by both sides) to record from each game.
+     * @param explorationRate the chance of playing a random move instead of the strategy's move
+     *                        during the recorded plies (0 to 1).
+     * @param seed the seed for the random moves, so a build can be repeated.
+     */
+    public OpeningBookBuilder(int plies, double explorationRate, long seed) {
+        if (plies < 1) {
+            throw new IllegalArgumentException("At least one ply must be recorded.");
+        }
+        if (explorationRate < 0 || explorationRate > 1) {
+            throw new IllegalArgumentException("Exploration rate must be between 0 and 1.");
+        }
+        this.plies = plies;
+        this.explorationRate = explorationRate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Decides the moves of one self-play game, exploring and remembering the opening moves.
+     */
+    private class Recorder implements Strategy {
+        private final Strategy strategy;
+        private final List<long[]> played; // Position key, packed move and color ordinal of each recorded move
+        private int ply;
+
+        Recorder(Strategy strategy, List<long[]> played) {
+            this.strategy = strategy;
+            this.played = played;
+        }
+
+        @Override
+        public Move decideMove(Board board, Player player) {
+            Move move;
+            if (ply < plies && random.nextDouble() < explorationRate) {
+                List<Move> moves = board.getValidMoves(player);
+                move = moves.isEmpty() ? null : moves.get(random.nextInt(moves.size()));
+            } else {
+                move = strategy.decideMove(board, player);
+            }
+            if (move != null && ply < plies) {
+                long key = OpeningBook.key(board, player.isBlack());
+                played.add(new long[]{key, MoveBuffer.pack(move), player.getPieceColor().ordinal()});
+            }
+            ply++;
+            return move;
+        }
+    }
+
+    /**
+     * Plays self-play games and records their openings.
+     *
+     * @param strategy creates the strategy that plays both sides of a game.
+     * @param games the number of games to play.
+     */
+    public void playGames(Supplier<? extends Strategy> strategy, int games) {
+        for (int i = 0; i < games; i++) {
+            // Both players count the plies of the same game, so they share one recorder
+            List<long[]> played = new ArrayList<>();
+            Recorder recorder = new Recorder(strategy.get(), played);
+            Player black = new Player(PieceColor.BLACK, recorder);
+            Player white = new Player(PieceColor.WHITE, recorder);
+            GameResult result = new Game(black, white).play();
+
+            for (long[] entry : played) {
+                int weight = result.isDraw() ? DRAW_WEIGHT
+                        : result.getWinner().getPieceColor().ordinal() == entry[2] ? WIN_WEIGHT : 0;
+                weights.computeIfAbsent(entry[0], key -> new TreeMap<>())
+                        .merge((int) entry[1], weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of different positions recorded so far.
+     *
+     * @return the position count.
+     */
+    public int getPositionCount() {
+        return weights.size();
+    }
+
+    /**
+     * Writes the book file. Entries are sorted by key, as {@link OpeningBook} expects.
+     *
+     * @param path the file to write; it is replaced if it exists.
+     * @return the number of entries written.
+     * @throws IOException if the file cannot be written.
+     */
+    public int write(Path path) throws IOException {
+        int count = 0;
+        for (Map<Integer, Integer> moves : weights.values()) {
+            for (int weight : moves.values()) {
+                if (weight > 0) {
+                    count++;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + count * OpeningBook.ENTRY_BYTES)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(count);
+        for (Map.Entry<Long, Map<Integer, Integer>> position : weights.entrySet()) {
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() > 0) {
+                    buffer.putLong(position.getKey()).putInt(move.getKey()).putInt(move.getValue());
+                }
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Builds a book with an alpha-beta strategy playing itself.
+     * Arguments: the output file (default opening.book), the number of games (default 200),
+     * the number of plies to record (default 12) and the search depth (default 6).
+     *
+     * @param args the command line arguments.
+     * @throws IOException if the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "opening.book");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+
+        long startTime = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, 0.3, 2024L);
+        builder.playGames(() -> new AlphaBetaStrategy(depth), games);
+        int entries = builder.write(path);
+        System.out.println("Wrote " + entries + " moves for " + builder.getPositionCount() + " positions to " + path
+                + " in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,63 @@
+package upei.project;
+
+import java.util.Random;
+
+/**
+ * OpeningBookStrategy plays moves from an {@link OpeningBook} while the game is in the book,
+ * and leaves every other position to another strategy. Book moves are chosen at random by
+ * weight, so games that start out of the book still differ from each other.
+ */
+public class OpeningBookStrategy implements Strategy {
+    private final OpeningBook book;
+    private final Strategy fallback;
+    private final Random random = new Random();
+    private GameListener listener = GameListener.NONE;
+
+    /**
+     * Creates a strategy that consults a book before searching.
+     *
+     * @param book the opening book.
+     * @param fallback the strategy that decides positions the book does not cover.
+     */
+    public OpeningBookStrategy(OpeningBook book, Strategy fallback) {
+        this.book = book;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Decides a move from the book, or with the fallback strategy if the position is not in it.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @return The chosen move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player) {
+        return decideMove(board, player, SearchLimits.none());
+    }
+
+    /**
+     * Decides a move from the book, or with the fallback strategy within the given limits
+     * if the position is not in it.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @param limits The limits passed on to the fallback strategy.
+     * @return The chosen move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player, SearchLimits limits) {
+        int bookMove = book.probe(board, player.isBlack(), random);
+        if (bookMove < 0) {
+            return fallback.decideMove(board, player, limits);
+        }
+        listener.onMoveChosen(player, bookMove);
+        return MoveBuffer.toMove(bookMove);
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+        fallback.setListener(listener);
+    }
+}
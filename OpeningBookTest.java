@@ -0,0 +1,80 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    /**
+     * Builds a small book from random self-play into a temporary file.
+     */
+    private Path buildBook(int games) throws IOException {
+        Path path = Files.createTempFile("opening", ".book");
+        path.toFile().deleteOnExit(); // A mapped file cannot be deleted on every platform
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 0.5, 42L);
+        builder.playGames(RandomStrategy::new, games);
+        assertTrue(builder.getPositionCount() > 1, "Self-play should reach several opening positions.");
+        assertTrue(builder.write(path) > 0, "The book should contain moves.");
+        return path;
+    }
+
+    @Test
+    void testBookMovesAreLegal() throws IOException {
+        OpeningBook book = OpeningBook.load(buildBook(40));
+        Board board = new Board();
+        Player blackPlayer = new Player("Black", new RandomStrategy());
+        Random random = new Random(1);
+
+        assertTrue(book.size() > 0, "The loaded book should have entries.");
+        for (int i = 0; i < 20; i++) {
+            int move = book.probe(board, true, random);
+            assertTrue(move >= 0, "The starting position should be in the book.");
+            assertTrue(board.getValidMoves(blackPlayer).contains(MoveBuffer.toMove(move)),
+                    "Book moves should be legal in the position.");
+        }
+    }
+
+    @Test
+    void testPositionsOutsideTheBookHaveNoMove() throws IOException {
+        OpeningBook book = OpeningBook.load(buildBook(10));
+        Board board = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                board.removePieceAt(row, col);
+            }
+        }
+        board.placePieceAt(2, 3, new RegularPiece("Black"));
+        board.placePieceAt(5, 4, new RegularPiece("White"));
+
+        assertEquals(-1, book.probe(board, true, new Random()), "A position that never came up should have no book move.");
+        assertEquals(-1, book.probe(new Board(), false, new Random()),
+                "The side to move is part of the position.");
+    }
+
+    @Test
+    void testBookStrategyFallsBackOutsideTheBook() throws IOException {
+        OpeningBook book = OpeningBook.load(buildBook(10));
+        OpeningBookStrategy strategy = new OpeningBookStrategy(book, new AlphaBetaStrategy(2));
+        Player blackPlayer = new Player("Black", strategy);
+        Player whitePlayer = new Player("White", new RandomStrategy());
+
+        GameResult result = new Game(blackPlayer, whitePlayer).play();
+
+        assertTrue(result.getPlies() > 6, "The game should continue past the book.");
+    }
+
+    @Test
+    void testInvalidFileIsRejected() throws IOException {
+        Path path = Files.createTempFile("invalid", ".book");
+        path.toFile().deleteOnExit();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(path), "A file without the book header should be rejected.");
+    }
+}
@@ -0,0 +1,164 @@
+package upei.project;
+
+import java.util.Arrays;
+
+/**
+ * The PairingResult class collects the results of one pairing of a {@link Tournament},
+ * counted from the first entrant's side. Results can be recorded from several threads.
+ *
+ * Rounds 2k and 2k + 1 are a colour pair: the same entrants with colours swapped. The sequential
+ * test only sees the results of complete pairs, so neither side is favoured by having had Black
+ * more often, however the games of the pairing finish.
+ */
+public class PairingResult {
+    private final int first;  // Index of the first entrant
+    private final int second; // Index of the second entrant
+    private int wins;   // Games won by the first entrant
+    private int draws;
+    private int losses; // Games won by the second entrant
+    private final double[] pendingScores; // Score of the finished half of each colour pair, or NaN
+    private int pairedWins;   // Results of complete colour pairs, as seen by the test
+    private int pairedDraws;
+    private int pairedLosses;
+    private Sprt.Decision decision = Sprt.Decision.CONTINUE;
+
+    /**
+     * Creates an empty result.
+     *
+     * @param first the index of the first entrant.
+     * @param second the index of the second entrant.
+     * @param rounds the most games the pairing plays.
+     */
+    public PairingResult(int first, int second, int rounds) {
+        this.first = first;
+        this.second = second;
+        this.pendingScores = new double[(rounds + 1) / 2];
+        Arrays.fill(pendingScores, Double.NaN);
+    }
+
+    /**
+     * Records a game.
+     *
+     * @param score the first entrant's score: 1 for a win, 0.5 for a draw, 0 for a loss.
+     * @param round the round the game was played in, starting at 0.
+     * @param sprt the test that may stop the pairing, or null to play every game.
+     */
+    synchronized void record(double score, int round, Sprt sprt) {
+        if (score == 1) {
+            wins++;
+        } else if (score == 0) {
+            losses++;
+        } else {
+            draws++;
+        }
+
+        int pair = round / 2;
+        if (Double.isNaN(pendingScores[pair])) {
+            pendingScores[pair] = score; // Wait for the game with colours swapped
+            return;
+        }
+        countPaired(pendingScores[pair]);
+        countPaired(score);
+        if (sprt != null && decision == Sprt.Decision.CONTINUE) {
+            decision = sprt.decide(pairedWins, pairedDraws, pairedLosses);
+        }
+    }
+
+    private void countPaired(double score) {
+        if (score == 1) {
+            pairedWins++;
+        } else if (score == 0) {
+            pairedLosses++;
+        } else {
+            pairedDraws++;
+        }
+    }
+
+    /**
+     * Gets the index of the first entrant.
+     *
+     * @return the entrant index.
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the index of the second entrant.
+     *
+     * @return the entrant index.
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    public synchronized int getWins() {
+        return wins;
+    }
+
+    public synchronized int getDraws() {
+        return draws;
+    }
+
+    public synchronized int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the game count.
+     */
+    public synchronized int getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Gets the first entrant's average score.
+     *
+     * @return the score per game, between 0 and 1, or 0.5 if no games were played.
+     */
+    public synchronized double getScore() {
+        int games = getGames();
+        return games == 0 ? 0.5 : (wins + draws / 2.0) / games;
+    }
+
+    /**
+     * Gets the Wilson score interval of the first entrant's score.
+     *
+     * @param z the normal quantile of the confidence level (1.96 for 95%).
+     * @return the lower and upper bounds of the score.
+     */
+    public synchronized double[] getScoreInterval(double z) {
+        int games = getGames();
+        if (games == 0) {
+            return new double[]{0, 1};
+        }
+        double score = getScore();
+        double z2 = z * z;
+        double center = (score + z2 / (2 * games)) / (1 + z2 / games);
+        double halfWidth = z * Math.sqrt(score * (1 - score) / games + z2 / (4.0 * games * games)) / (1 + z2 / games);
+        return new double[]{Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+    }
+
+    /**
+     * Gets the Elo difference of the first entrant over the second, with its confidence interval.
+     *
+     * @param z the normal quantile of the confidence level (1.96 for 95%).
+     * @return the estimate, then the lower and upper bounds; infinite when one side won every game.
+     */
+    public synchronized double[] getEloDifference(double z) {
+        double[] interval = getScoreInterval(z);
+        return new double[]{Sprt.eloDifference(getScore()),
+                Sprt.eloDifference(interval[0]), Sprt.eloDifference(interval[1])};
+    }
+
+    /**
+     * Gets the state of the pairing's sequential test.
+     *
+     * @return CONTINUE while the pairing is still undecided or has no test.
+     */
+    public synchronized Sprt.Decision getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,515 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Pdn class reads and writes positions and games in Portable Draughts Notation.
+ *
+ * The 32 dark squares are numbered 1 to 32 row by row from Black's side of the board:
+ * row 0 holds squares 1-4, row 1 squares 5-8, and so on, so Black starts on 1-12 and White on 21-32.
+ * A position is written in FEN as the side to move followed by each side's pieces, with kings
+ * marked by K, for example {@code B:W21,22,K23:B1,2,3}. Ranges such as {@code B1-12} are accepted.
+ * Moves are written as the squares visited, joined by '-' for a plain move and 'x' for a capture.
+ *
+ * The parsers scan the text by hand, character by character, so large files of positions
+ * or games load without regular expressions or splitting strings.
+ */
+public final class Pdn {
+    // Results, from Black's side first, as Black moves first in English draughts
+    public static final String BLACK_WINS = "1-0";
+    public static final String WHITE_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String UNKNOWN = "*";
+
+    private static final int SQUARES = 32;
+    private static final int[] SQUARE_OF_NUMBER = new int[SQUARES + 1]; // Board square of each number
+    private static final int[] NUMBER_OF_SQUARE = new int[64];        // Number of each square, 0 for light squares
+    private static final long DARK_SQUARES;
+
+    // Result tokens as written by other programs, and the result each one stands for
+    private static final String[] RESULT_TOKENS = {BLACK_WINS, WHITE_WINS, DRAW, UNKNOWN, "2-0", "0-2", "1-1"};
+    private static final String[] RESULTS = {BLACK_WINS, WHITE_WINS, DRAW, UNKNOWN, BLACK_WINS, WHITE_WINS, DRAW};
+
+    static {
+        long darkSquares = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                if ((row + col) % 2 == 1) {
+                    int number = row * 4 + col / 2 + 1;
+                    SQUARE_OF_NUMBER[number] = BitBoard.square(row, col);
+                    NUMBER_OF_SQUARE[BitBoard.square(row, col)] = number;
+                    darkSquares |= 1L << BitBoard.square(row, col);
+                }
+            }
+        }
+        DARK_SQUARES = darkSquares;
+    }
+
+    private Pdn() {
+    }
+
+    /**
+     * Converts a square number into a bitboard square.
+     *
+     * @param number the square number (1-32).
+     * @return the square index (0-63).
+     */
+    public static int toSquare(int number) {
+        if (number < 1 || number > SQUARES) {
+            throw new IllegalArgumentException("Square numbers run from 1 to 32, not " + number + ".");
+        }
+        return SQUARE_OF_NUMBER[number];
+    }
+
+    /**
+     * Converts a bitboard square into its square number.
+     *
+     * @param square the square index (0-63).
+     * @return the square number (1-32), or 0 for a light square.
+     */
+    public static int toNumber(int square) {
+        return NUMBER_OF_SQUARE[square];
+    }
+
+    /**
+     * Reads a position from FEN.
+     *
+     * @param fen the position, such as {@code W:W18,K24:B1-4}.
+     * @return a board holding the position, with the side to move set on its bitboard.
+     * @throws IllegalArgumentException if the text is not a valid position.
+     */
+    public static Board parseFen(CharSequence fen) {
+        Scanner in = new Scanner(fen, 0, fen.length());
+        in.skipSpaces();
+        char side = in.hasMore() ? Character.toUpperCase(in.next()) : ' ';
+        if (side != 'B' && side != 'W') {
+            throw in.error("the side to move, B or W");
+        }
+
+        long black = 0;
+        long white = 0;
+        long kings = 0;
+        in.skipSpaces();
+        while (in.hasMore() && in.peek() == ':') {
+            in.next();
+            in.skipSpaces();
+            char color = in.hasMore() ? Character.toUpperCase(in.next()) : ' ';
+            if (color != 'B' && color != 'W') {
+                throw in.error("a side, B or W");
+            }
+            long pieces = 0;
+            in.skipSpaces();
+            while (in.hasMore() && in.peek() != ':' && in.peek() != '.') {
+                boolean king = Character.toUpperCase(in.peek()) == 'K';
+                if (king) {
+                    in.next();
+                }
+                int first = in.readNumber();
+                int last = first;
+                in.skipSpaces();
+                if (in.hasMore() && in.peek() == '-') {
+                    in.next();
+                    in.skipSpaces();
+                    last = in.readNumber();
+                }
+                for (int number = first; number <= last; number++) {
+                    long bit = 1L << toSquare(number);
+                    pieces |= bit;
+                    if (king) {
+                        kings |= bit;
+                    }
+                }
+                in.skipSpaces();
+                if (in.hasMore() && in.peek() == ',') {
+                    in.next();
+                    in.skipSpaces();
+                } else if (in.hasMore() && in.peek() != ':' && in.peek() != '.') {
+                    throw in.error("',' or ':'");
+                }
+            }
+            if (color == 'B') {
+                black |= pieces;
+            } else {
+                white |= pieces;
+            }
+        }
+        if (in.hasMore() && in.peek() == '.') {
+            in.next();
+            in.skipSpaces();
+        }
+        if (in.hasMore()) {
+            throw in.error("the end of the position");
+        }
+
+        BitBoard bits = new BitBoard();
+        bits.setPosition(black, white, kings);
+        bits.setWhiteToMove(side == 'W');
+        return new Board(bits);
+    }
+
+    /**
+     * Writes a position in FEN, with the side to move taken from the board's bitboard.
+     *
+     * @param board the position.
+     * @return the position, such as {@code B:W21,22,K23:B1,2,3}.
+     * @throws IllegalArgumentException if a piece stands on a light square, which FEN cannot describe.
+     */
+    public static String toFen(Board board) {
+        BitBoard bits = board.getBitBoard();
+        if (((bits.getBlack() | bits.getWhite()) & ~DARK_SQUARES) != 0) {
+            throw new IllegalArgumentException("Pieces on light squares cannot be written in FEN.");
+        }
+        StringBuilder fen = new StringBuilder(100);
+        fen.append(bits.isWhiteToMove() ? 'W' : 'B');
+        appendPieces(fen.append(":W"), bits.getWhite(), bits.getKings());
+        appendPieces(fen.append(":B"), bits.getBlack(), bits.getKings());
+        return fen.toString();
+    }
+
+    private static void appendPieces(StringBuilder fen, long pieces, long kings) {
+        boolean first = true;
+        for (int number = 1; number <= SQUARES; number++) {
+            long bit = 1L << SQUARE_OF_NUMBER[number];
+            if ((pieces & bit) != 0) {
+                fen.append(first ? "" : ",").append((kings & bit) != 0 ? "K" : "").append(number);
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Writes a packed move as the squares it visits, such as {@code 11-15} or {@code 9x18x27}.
+     *
+     * @param move the packed move.
+     * @return the move text.
+     */
+    public static String moveText(int move) {
+        int square = MoveBuffer.from(move);
+        StringBuilder text = new StringBuilder().append(toNumber(square));
+        int jumps = MoveBuffer.jumpCount(move);
+        if (jumps == 0) {
+            return text.append('-').append(toNumber(MoveBuffer.to(move))).toString();
+        }
+        for (int i = 0; i < jumps; i++) {
+            int direction = MoveBuffer.direction(move, i);
+            square = BitBoard.neighbor(direction, BitBoard.neighbor(direction, square));
+            text.append('x').append(toNumber(square));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Finds the legal move a move text describes.
+     * The text gives the starting and final squares, and may give the squares in between.
+     * If a shortened capture fits several legal captures, the first one generated is taken.
+     *
+     * @param text the move, such as {@code 11-15}, {@code 9x27} or {@code 9x18x27}.
+     * @param bits the position.
+     * @param blackToMove whether Black makes the move.
+     * @param buffer a buffer for the legal moves.
+     * @return the packed move, or -1 if no legal move fits the text.
+     */
+    public static int parseMove(CharSequence text, BitBoard bits, boolean blackToMove, MoveBuffer buffer) {
+        return parseMove(text, 0, text.length(), bits, blackToMove, buffer);
+    }
+
+    private static int parseMove(CharSequence text, int start, int end, BitBoard bits, boolean blackToMove, MoveBuffer buffer) {
+        // The squares visited; a chain of captures visits at most MAX_JUMPS + 1 squares
+        int[] squares = new int[MoveBuffer.MAX_JUMPS + 1];
+        int count = 0;
+        Scanner in = new Scanner(text, start, end);
+        while (true) {
+            if (count == squares.length) {
+                return -1;
+            }
+            squares[count++] = toSquare(in.readNumber());
+            if (!in.hasMore()) {
+                break;
+            }
+            char separator = in.next();
+            if (separator != '-' && separator != 'x' && separator != 'X') {
+                throw in.error("'-' or 'x'");
+            }
+        }
+        if (count < 2) {
+            throw in.error("at least two squares");
+        }
+
+        int legalCount = bits.generateMoves(blackToMove, buffer);
+        for (int i = 0; i < legalCount; i++) {
+            int move = buffer.get(i);
+            if (MoveBuffer.from(move) == squares[0] && MoveBuffer.to(move) == squares[count - 1]
+                    && (count == 2 || visits(move, squares, count))) {
+                return move;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a capture lands on exactly the given squares.
+     */
+    private static boolean visits(int move, int[] squares, int count) {
+        if (MoveBuffer.jumpCount(move) != count - 1) {
+            return false;
+        }
+        int square = squares[0];
+        for (int i = 0; i < count - 1; i++) {
+            int direction = MoveBuffer.direction(move, i);
+            square = BitBoard.neighbor(direction, BitBoard.neighbor(direction, square));
+            if (square != squares[i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads every game in a PDN text. Tags, move numbers, comments ({@code {...}} and
+     * {@code ; ...}), variations and numeric annotations are understood; moves are checked
+     * against the legal moves as they are read and executed the way {@link Game} executes them.
+     *
+     * @param text the PDN text, holding any number of games.
+     * @return the games, in the order they appear.
+     * @throws IllegalArgumentException if the text is malformed or a move is not legal.
+     */
+    public static List<PdnGame> parseGames(CharSequence text) {
+        List<PdnGame> games = new ArrayList<>();
+        Scanner in = new Scanner(text, 0, text.length());
+        MoveBuffer buffer = new MoveBuffer();
+        in.skipSpacesAndComments();
+        while (in.hasMore()) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            while (in.hasMore() && in.peek() == '[') {
+                in.readTag(tags);
+                in.skipSpacesAndComments();
+            }
+            String fen = tags.get("FEN");
+            Board start = fen != null ? parseFen(fen) : new Board();
+            BitBoard bits = start.getBitBoard().copy();
+            boolean blackToMove = !bits.isWhiteToMove();
+            int[] moves = new int[64];
+            int moveCount = 0;
+            String result = tags.getOrDefault("Result", UNKNOWN);
+
+            while (in.hasMore() && in.peek() != '[') {
+                int tokenStart = in.position();
+                int tokenEnd = in.skipToken();
+                String gameResult = resultAt(text, tokenStart, tokenEnd);
+                if (gameResult != null) {
+                    result = gameResult;
+                    in.skipSpacesAndComments();
+                    break;
+                }
+                // Move numbers end with '.' and may be joined to the move that follows them
+                int moveStart = tokenStart;
+                for (int i = tokenStart; i < tokenEnd; i++) {
+                    if (text.charAt(i) == '.') {
+                        moveStart = i + 1;
+                    }
+                }
+                // Annotations such as '!' or '?' follow the move
+                int moveEnd = tokenEnd;
+                while (moveEnd > moveStart && (text.charAt(moveEnd - 1) == '!' || text.charAt(moveEnd - 1) == '?')) {
+                    moveEnd--;
+                }
+                if (moveEnd > moveStart && text.charAt(tokenStart) != '$') {
+                    int move = parseMove(text, moveStart, moveEnd, bits, blackToMove, buffer);
+                    if (move < 0) {
+                        throw new IllegalArgumentException("Illegal move " + text.subSequence(moveStart, moveEnd)
+                                + " after " + moveCount + " moves.");
+                    }
+                    bits.executeMove(MoveBuffer.from(move), MoveBuffer.to(move), MoveBuffer.capturedSquares(move));
+                    blackToMove = !blackToMove;
+                    if (moveCount == moves.length) {
+                        moves = Arrays.copyOf(moves, moveCount * 2);
+                    }
+                    moves[moveCount++] = move;
+                }
+                in.skipSpacesAndComments();
+            }
+            games.add(new PdnGame(tags, start, Arrays.copyOf(moves, moveCount), result));
+        }
+        return games;
+    }
+
+    /**
+     * Gets the result a token stands for, or null if the token is not a result.
+     */
+    private static String resultAt(CharSequence text, int start, int end) {
+        for (int i = 0; i < RESULT_TOKENS.length; i++) {
+            String token = RESULT_TOKENS[i];
+            if (end - start == token.length() && regionMatches(text, start, token)) {
+                return RESULTS[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (text.charAt(start + i) != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Steps through a range of text, reporting errors with their position.
+     */
+    private static final class Scanner {
+        private final CharSequence text;
+        private final int end;
+        private int position;
+
+        Scanner(CharSequence text, int start, int end) {
+            this.text = text;
+            this.position = start;
+            this.end = end;
+        }
+
+        boolean hasMore() {
+            return position < end;
+        }
+
+        char peek() {
+            return text.charAt(position);
+        }
+
+        char next() {
+            return text.charAt(position++);
+        }
+
+        int position() {
+            return position;
+        }
+
+        void skipSpaces() {
+            while (position < end && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        int readNumber() {
+            int start = position;
+            int value = 0;
+            while (position < end && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+                value = value * 10 + (text.charAt(position++) - '0');
+                if (value > SQUARES) {
+                    throw error("a square number from 1 to 32");
+                }
+            }
+            if (position == start) {
+                throw error("a square number");
+            }
+            return value;
+        }
+
+        /**
+         * Skips whitespace, comments and variations.
+         */
+        void skipSpacesAndComments() {
+            while (position < end) {
+                char c = text.charAt(position);
+                if (Character.isWhitespace(c)) {
+                    position++;
+                } else if (c == '{') {
+                    skipPast('}');
+                } else if (c == ';') {
+                    skipPast('\n');
+                } else if (c == '(') {
+                    skipVariation();
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void skipPast(char terminator) {
+            while (position < end && text.charAt(position) != terminator) {
+                position++;
+            }
+            position = Math.min(position + 1, end);
+        }
+
+        private void skipVariation() {
+            int depth = 0;
+            while (position < end) {
+                char c = text.charAt(position);
+                if (c == '{') {
+                    skipPast('}');
+                    continue;
+                }
+                position++;
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Skips a movetext token.
+         *
+         * @return the end of the token.
+         */
+        int skipToken() {
+            while (position < end) {
+                char c = text.charAt(position);
+                if (Character.isWhitespace(c) || c == '{' || c == '(' || c == ';' || c == '[') {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * Reads a tag such as {@code [Event "Club match"]} into the map.
+         */
+        void readTag(Map<String, String> tags) {
+            next(); // '['
+            skipSpaces();
+            int nameStart = position;
+            while (position < end && (Character.isLetterOrDigit(peek()) || peek() == '_')) {
+                position++;
+            }
+            if (position == nameStart) {
+                throw error("a tag name");
+            }
+            String name = text.subSequence(nameStart, position).toString();
+            skipSpaces();
+            if (!hasMore() || next() != '"') {
+                throw error("'\"'");
+            }
+            StringBuilder value = new StringBuilder();
+            while (hasMore() && peek() != '"') {
+                char c = next();
+                value.append(c == '\\' && hasMore() ? next() : c);
+            }
+            if (!hasMore()) {
+                throw error("'\"'");
+            }
+            next(); // '"'
+            skipSpaces();
+            if (!hasMore() || next() != ']') {
+                throw error("']'");
+            }
+            tags.put(name, value.toString());
+        }
+
+        IllegalArgumentException error(String expected) {
+            // Quote the text around the error; a PDN text may be a whole file
+            int from = Math.max(0, position - 20);
+            int to = Math.min(text.length(), position + 20);
+            return new IllegalArgumentException("Expected " + expected + " at position " + position
+                    + ", near \"" + text.subSequence(from, to) + "\".");
+        }
+    }
+}
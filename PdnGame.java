@@ -0,0 +1,171 @@
+package upei.project;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The PdnGame class is one game read from or written to Portable Draughts Notation:
+ * its tags, its starting position, its moves and its result. See {@link Pdn} for the notation.
+ */
+public class PdnGame {
+    private static final int LINE_LENGTH = 80; // Movetext lines are wrapped before this length
+
+    private final Map<String, String> tags;
+    private final Board start;
+    private final int[] moves;
+    private final String result;
+
+    /**
+     * Creates a game.
+     *
+     * @param tags the tags, such as Event, Black and White, in the order they are written.
+     * @param start the starting position, with the side to move set on its bitboard.
+     * @param moves the packed moves, in the order they were played.
+     * @param result Pdn.BLACK_WINS, WHITE_WINS, DRAW or UNKNOWN.
+     */
+    public PdnGame(Map<String, String> tags, Board start, int[] moves, String result) {
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.start = start.copy();
+        this.moves = moves.clone();
+        this.result = result;
+    }
+
+    /**
+     * Creates a game from the current record of an archive reader.
+     * The strategy names become the Black and White tags.
+     *
+     * @param record the reader, positioned on a record.
+     * @return the game.
+     */
+    public static PdnGame fromRecord(GameRecordReader record) {
+        Board start = new Board();
+        record.replay(start, (board, blackToMove, ply) -> false); // Stops at the starting position
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Self-play");
+        tags.put("Black", record.getBlackName());
+        tags.put("White", record.getWhiteName());
+        String result = record.getWinner() == GameRecord.BLACK_WINS ? Pdn.BLACK_WINS
+                : record.getWinner() == GameRecord.WHITE_WINS ? Pdn.WHITE_WINS : Pdn.DRAW;
+        return new PdnGame(tags, start, record.getMoves(), result);
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets a tag.
+     *
+     * @param name the tag name.
+     * @return the tag value, or null if the game does not have the tag.
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Gets the starting position.
+     *
+     * @return a copy of the starting position, with the side to move set on its bitboard.
+     */
+    public Board getStartingBoard() {
+        return start.copy();
+    }
+
+    /**
+     * Gets the moves.
+     *
+     * @return a copy of the packed moves, in the order they were played.
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * Plays the moves from the starting position, the way {@link Game} executes them.
+     *
+     * @return the final position.
+     */
+    public Board getFinalBoard() {
+        Board board = start.copy();
+        BitBoard bits = board.getBitBoard();
+        for (int move : moves) {
+            bits.executeMove(MoveBuffer.from(move), MoveBuffer.to(move), MoveBuffer.capturedSquares(move));
+        }
+        return board;
+    }
+
+    /**
+     * Writes the game in PDN. The Result tag is always written, and the FEN tag whenever
+     * the game does not start from the standard position with Black to move.
+     *
+     * @return the PDN text, ending with a blank line.
+     */
+    public String toPdn() {
+        StringBuilder pdn = new StringBuilder();
+        Map<String, String> written = new LinkedHashMap<>(tags);
+        written.put("Result", result);
+        String fen = start.toFen();
+        if (!fen.equals(new Board().toFen())) {
+            written.put("FEN", fen);
+        } else {
+            written.remove("FEN");
+        }
+        for (Map.Entry<String, String> tag : written.entrySet()) {
+            pdn.append('[').append(tag.getKey()).append(" \"")
+                    .append(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\"")).append("\"]\n");
+        }
+        pdn.append('\n');
+
+        boolean blackToMove = !start.getBitBoard().isWhiteToMove();
+        int moveNumber = 1;
+        int lineStart = pdn.length();
+        for (int i = 0; i < moves.length; i++) {
+            String token = Pdn.moveText(moves[i]);
+            if (blackToMove) {
+                token = moveNumber + ". " + token;
+            } else if (i == 0) {
+                token = moveNumber + "... " + token;
+            }
+            lineStart = appendToken(pdn, token, lineStart);
+            if (!blackToMove) {
+                moveNumber++;
+            }
+            blackToMove = !blackToMove;
+        }
+        appendToken(pdn, result, lineStart);
+        return pdn.append("\n\n").toString();
+    }
+
+    /**
+     * Appends a movetext token, starting a new line when the current one would get too long.
+     *
+     * @return the start of the current line.
+     */
+    private static int appendToken(StringBuilder pdn, String token, int lineStart) {
+        if (pdn.length() > lineStart) {
+            if (pdn.length() - lineStart + 1 + token.length() > LINE_LENGTH) {
+                pdn.append('\n');
+                lineStart = pdn.length();
+            } else {
+                pdn.append(' ');
+            }
+        }
+        pdn.append(token);
+        return lineStart;
+    }
+
+    @Override
+    public String toString() {
+        return toPdn();
+    }
+}
@@ -0,0 +1,114 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdnTest {
+
+    @Test
+    void testStartingPositionFen() {
+        Board board = new Board();
+        assertEquals("B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12", board.toFen(),
+                "Wrong FEN for the starting position.");
+        assertEquals(board.getHash(), Board.fromFen("B:W21-32:B1-12").getHash(),
+                "Ranges should describe the starting position.");
+    }
+
+    @Test
+    void testFenRoundTripWithKings() {
+        Board board = Board.fromFen(" W : WK3, 18,24 : B1,K27. ");
+        BitBoard bits = board.getBitBoard();
+        assertTrue(bits.isWhiteToMove(), "White should be to move.");
+        assertEquals(BitBoard.WHITE | BitBoard.KING, bits.pieceAt(BitBoard.square(0, 5)), "Square 3 should hold a White king.");
+        assertEquals(BitBoard.WHITE, bits.pieceAt(BitBoard.square(4, 3)), "Square 18 should hold a White man.");
+        assertEquals(BitBoard.BLACK | BitBoard.KING, bits.pieceAt(BitBoard.square(6, 5)), "Square 27 should hold a Black king.");
+        assertEquals(5, board.getPieceCount(PieceColor.WHITE) + board.getPieceCount(PieceColor.BLACK),
+                "No other pieces should be placed.");
+        assertEquals(bits.computeHash(), bits.getHash(), "The hash should match the position.");
+        assertEquals("W:WK3,18,24:B1,K27", board.toFen(), "Writing the position should give the normal form.");
+    }
+
+    @Test
+    void testInvalidFenIsRejected() {
+        for (String fen : new String[]{"", "X:W1:B2", "B:W33:B1", "B:W1:B1", "B:W1,,2:B3", "B:W1:B2 extra", "B:Q1"}) {
+            assertThrows(IllegalArgumentException.class, () -> Board.fromFen(fen), "\"" + fen + "\" should be rejected.");
+        }
+    }
+
+    @Test
+    void testMoveText() {
+        BitBoard bits = new Board().getBitBoard();
+        MoveBuffer buffer = new MoveBuffer();
+        int move = Pdn.parseMove("11-15", bits, true, buffer);
+        assertTrue(move >= 0, "11-15 should be legal from the start.");
+        assertEquals("11-15", Pdn.moveText(move), "The move should be written as it was read.");
+        assertEquals(-1, Pdn.parseMove("11-14", bits, true, buffer), "11-14 is not a move.");
+        assertEquals(-1, Pdn.parseMove("23-19", bits, true, buffer), "Black cannot move a White piece.");
+
+        BitBoard capture = Board.fromFen("B:W6,14:B1").getBitBoard();
+        int jump = Pdn.parseMove("1x17", capture, true, buffer);
+        assertTrue(jump >= 0, "The shortened double jump should be found.");
+        assertEquals("1x10x17", Pdn.moveText(jump), "Captures should be written with every landing square.");
+        assertEquals(jump, Pdn.parseMove("1x10x17", capture, true, buffer), "The full path should give the same move.");
+    }
+
+    @Test
+    void testParseGames() {
+        String text = "[Event \"Club \\\"final\\\"\"]\n[Black \"A\"]\n[White \"B\"]\n[Result \"*\"]\n\n"
+                + "1. 11-15 {a comment} 23-19 2.8-11 (2. 9-13 22-18) 22-17 $1 3. 9-13! ; line comment\n1-0\n\n"
+                + "[FEN \"W:W18:B14\"]\n1... 18x9 0-1\n";
+        List<PdnGame> games = Pdn.parseGames(text);
+        assertEquals(2, games.size(), "Both games should be read.");
+
+        PdnGame first = games.get(0);
+        assertEquals("Club \"final\"", first.getTag("Event"), "Escaped quotes should be read.");
+        assertEquals(5, first.getMoveCount(), "Variations and comments should not add moves.");
+        assertEquals(Pdn.BLACK_WINS, first.getResult(), "The result token should override the tag.");
+
+        PdnGame second = games.get(1);
+        assertEquals(1, second.getMoveCount(), "The second game should have one move.");
+        assertEquals(Pdn.WHITE_WINS, second.getResult(), "Wrong result of the second game.");
+        assertEquals(0, second.getFinalBoard().getPieceCount(PieceColor.BLACK), "The capture should remove the Black man.");
+
+        assertThrows(IllegalArgumentException.class, () -> Pdn.parseGames("1. 11-14 *"),
+                "An illegal move should be rejected.");
+    }
+
+    @Test
+    void testPdnRoundTrip() {
+        for (PdnGame game : Pdn.parseGames("[FEN \"W:W18:B14,5\"]\n1... 18x9 5x14 *\n\n1. 11-15 23-19 1/2-1/2")) {
+            PdnGame read = Pdn.parseGames(game.toPdn()).get(0);
+            assertArrayEquals(game.getMoves(), read.getMoves(), "Writing and reading a game should keep its moves.");
+            assertEquals(game.getResult(), read.getResult(), "Writing and reading a game should keep its result.");
+            assertEquals(game.getStartingBoard().toFen(), read.getStartingBoard().toFen(),
+                    "Writing and reading a game should keep its starting position.");
+        }
+    }
+
+    @Test
+    void testArchivedGameExport() throws IOException {
+        Path directory = Files.createTempDirectory("pdn");
+        directory.toFile().deleteOnExit();
+        Board board = new Board();
+        try (GameRecordWriter writer = new GameRecordWriter(directory, "game", 1 << 20)) {
+            Game game = new Game(new Player(PieceColor.BLACK, new RandomStrategy()),
+                    new Player(PieceColor.WHITE, new AggressiveStrategy()), board);
+            game.setRecordSink(writer);
+            game.play();
+            writer.getFiles().forEach(file -> file.toFile().deleteOnExit()); // A mapped file cannot be deleted on every platform
+        }
+        GameRecordReader reader = GameRecordReader.open(GameArchive.open(directory, "game").getFiles().get(0));
+        assertTrue(reader.next(), "The file should hold the game.");
+
+        PdnGame game = Pdn.parseGames(PdnGame.fromRecord(reader).toPdn()).get(0);
+        assertEquals("AggressiveStrategy", game.getTag("White"), "The strategies should become tags.");
+        assertEquals(reader.getMoveCount(), game.getMoveCount(), "Every move should be exported.");
+        assertEquals(board.getHash(), game.getFinalBoard().getHash(), "The exported game should reach the final position.");
+    }
+}
@@ -0,0 +1,165 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Perft class counts the positions reachable in exactly N moves ("performance test").
+ * The counts only depend on the rules, so they check the move generator after every change,
+ * and the time taken to produce them measures how fast the generator is.
+ *
+ * An instance reuses its move buffers, so it should not be shared across threads;
+ * {@link #divide(Board, boolean, int, ExecutorService)} gives each root move its own instance.
+ */
+public class Perft {
+    private final MoveBuffer[] moves;
+
+    /**
+     * Creates a counter for searches up to the given depth.
+     *
+     * @param maxDepth the deepest depth that will be counted.
+     */
+    public Perft(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative.");
+        }
+        moves = new MoveBuffer[Math.max(maxDepth, 1)];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = new MoveBuffer();
+        }
+    }
+
+    /**
+     * Counts the positions reached after exactly {@code depth} moves.
+     * A side without moves ends its line early, so that line adds no positions.
+     *
+     * @param bits the position; it is restored before returning.
+     * @param blackToMove whether Black moves first.
+     * @param depth the number of moves to play (at most the depth given to the constructor).
+     * @return the number of positions at the given depth.
+     */
+    public long count(BitBoard bits, boolean blackToMove, int depth) {
+        if (depth > moves.length) {
+            throw new IllegalArgumentException("Depth exceeds the depth this counter was created for.");
+        }
+        return depth == 0 ? 1 : search(bits, blackToMove, depth);
+    }
+
+    private long search(BitBoard bits, boolean blackToMove, int depth) {
+        MoveBuffer buffer = moves[depth - 1];
+        int count = bits.generateMoves(blackToMove, buffer);
+        if (depth == 1) {
+            return count; // Every move leads to exactly one position
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            int move = buffer.get(i);
+            int undo = bits.makeMove(move);
+            nodes += search(bits, !blackToMove, depth - 1);
+            bits.unmakeMove(move, undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reached after exactly {@code depth} moves on a single thread.
+     *
+     * @param board the position to count from; it is not changed.
+     * @param blackToMove whether Black moves first.
+     * @param depth the number of moves to play.
+     * @return the number of positions at the given depth.
+     */
+    public static long perft(Board board, boolean blackToMove, int depth) {
+        return new Perft(depth).count(board.copy().getBitBoard(), blackToMove, depth);
+    }
+
+    /**
+     * Counts the positions below each root move separately, with one task per root move.
+     * Comparing these counts with those of a trusted generator shows which move goes wrong.
+     *
+     * @param board the position to count from; it is not changed.
+     * @param blackToMove whether Black moves first.
+     * @param depth the number of moves to play, including the root move (at least 1).
+     * @param executor the executor that runs the root moves.
+     * @return the count for each root move, in generation order.
+     */
+    public static Map<Move, Long> divide(Board board, boolean blackToMove, int depth, ExecutorService executor) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1.");
+        }
+        MoveBuffer rootMoves = new MoveBuffer();
+        int count = board.getBitBoard().generateMoves(blackToMove, rootMoves);
+
+        List<Future<Long>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int move = rootMoves.get(i);
+            BitBoard bits = board.copy().getBitBoard();
+            results.add(executor.submit(() -> {
+                bits.makeMove(move);
+                return new Perft(depth - 1).count(bits, !blackToMove, depth - 1);
+            }));
+        }
+
+        Map<Move, Long> counts = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                counts.put(MoveBuffer.toMove(rootMoves.get(i)), results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed.", e.getCause());
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the positions below each root move on a pool of the given number of threads.
+     *
+     * @param board the position to count from; it is not changed.
+     * @param blackToMove whether Black moves first.
+     * @param depth the number of moves to play, including the root move (at least 1).
+     * @param threads the number of threads to use.
+     * @return the count for each root move, in generation order.
+     */
+    public static Map<Move, Long> divide(Board board, boolean blackToMove, int depth, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return divide(board, blackToMove, depth, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Prints the divide counts, the total and the speed from the starting position.
+     * Arguments: depth (default 8), then the number of threads (default: all processors).
+     *
+     * @param args the command line arguments.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Board board = new Board();
+
+        long startTime = System.nanoTime();
+        Map<Move, Long> counts = divide(board, true, depth, threads);
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        long total = 0;
+        for (Map.Entry<Move, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        System.out.println("Depth " + depth + ": " + total + " positions in " + elapsedNanos / 1_000_000 + " ms ("
+                + (elapsedNanos > 0 ? total * 1_000_000_000L / elapsedNanos : 0) + " positions/s, "
+                + threads + " threads)");
+    }
+}
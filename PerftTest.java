@@ -0,0 +1,161 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    @Test
+    void testStartingPositionCounts() {
+        // Published counts for English draughts from the starting position
+        long[] expected = {1, 7, 49, 302, 1469, 7361, 36768, 179740, 845931};
+        Board board = new Board();
+        for (int depth = 0; depth < expected.length; depth++) {
+            assertEquals(expected[depth], Perft.perft(board, true, depth), "Wrong count at depth " + depth + ".");
+        }
+    }
+
+    @Test
+    void testDivideMatchesPerft() {
+        Board board = new Board();
+        long startHash = board.getHash();
+
+        Map<Move, Long> single = Perft.divide(board, true, 5, 1);
+        Map<Move, Long> parallel = Perft.divide(board, true, 5, 4);
+
+        assertEquals(7, single.size(), "There should be one entry per root move.");
+        assertEquals(single, parallel, "The thread count should not change the counts.");
+        assertEquals(Perft.perft(board, true, 5), single.values().stream().mapToLong(Long::longValue).sum(),
+                "The root move counts should add up to the total.");
+        assertEquals(startHash, board.getHash(), "Counting should not change the board.");
+    }
+
+    @Test
+    void testGeneratorAgreesWithReference() {
+        assertNull(findMismatch(new Board().getBitBoard(), 6), "The starting position should match the reference.");
+
+        // Kings, multi-jumps that branch, and a king that can jump in a circle back to its starting square
+        String[] positions = {
+                "W:WK3,18,24:B1,K27",
+                "B:W6,7,14,15,22,23,K30:BK1,5,10,K20",
+                "B:W14,15,22,23:BK10",
+                "W:WK19,K26,12:B15,16,22,23,24,7,8",
+        };
+        for (String fen : positions) {
+            assertNull(findMismatch(Board.fromFen(fen).getBitBoard(), 4), fen + " should match the reference.");
+        }
+    }
+
+    /**
+     * Walks every line up to the given depth and compares the moves the bitboard generates
+     * with those of the plain array generator below.
+     *
+     * @return a description of the first position where they disagree, or null if they always agree.
+     */
+    private static String findMismatch(BitBoard bits, int depth) {
+        boolean blackToMove = !bits.isWhiteToMove();
+        MoveBuffer buffer = new MoveBuffer();
+        int count = bits.generateMoves(blackToMove, buffer);
+        List<Move> generated = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            generated.add(MoveBuffer.toMove(buffer.get(i)));
+        }
+        int[] squares = new int[64];
+        for (int square = 0; square < 64; square++) {
+            squares[square] = bits.pieceAt(square);
+        }
+        List<Move> expected = referenceMoves(squares, blackToMove);
+        if (generated.size() != expected.size() || !new HashSet<>(generated).equals(new HashSet<>(expected))) {
+            return (blackToMove ? "Black" : "White") + " to move: generated " + generated + ", expected " + expected;
+        }
+
+        if (depth > 0) {
+            for (int i = 0; i < count; i++) {
+                int move = buffer.get(i);
+                int undo = bits.makeMove(move);
+                String mismatch = findMismatch(bits, depth - 1);
+                bits.unmakeMove(move, undo);
+                if (mismatch != null) {
+                    return "after " + generated.get(i) + ", " + mismatch;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates the legal moves square by square on a plain array of piece codes,
+     * sharing no code or tables with {@link BitBoard}.
+     */
+    private static List<Move> referenceMoves(int[] squares, boolean blackToMove) {
+        int colour = blackToMove ? BitBoard.BLACK : BitBoard.WHITE;
+        List<Move> captures = new ArrayList<>();
+        List<Move> steps = new ArrayList<>();
+        for (int from = 0; from < 64; from++) {
+            int code = squares[from];
+            if ((code & colour) == 0) {
+                continue;
+            }
+            for (int[] direction : directions(code)) {
+                int row = (from >>> 3) + direction[0];
+                int col = (from & 7) + direction[1];
+                if (onBoard(row, col) && squares[row * 8 + col] == BitBoard.EMPTY) {
+                    steps.add(new Move(from >>> 3, from & 7, row, col, false));
+                }
+            }
+            List<Integer> path = new ArrayList<>();
+            path.add(from);
+            addCaptures(squares, code, from, path, 0L, captures);
+        }
+        return captures.isEmpty() ? steps : captures;
+    }
+
+    private static void addCaptures(int[] squares, int code, int start, List<Integer> path, long captured,
+                                    List<Move> captures) {
+        int square = path.get(path.size() - 1);
+        boolean extended = false;
+        for (int[] direction : directions(code)) {
+            int overRow = (square >>> 3) + direction[0];
+            int overCol = (square & 7) + direction[1];
+            int row = overRow + direction[0];
+            int col = overCol + direction[1];
+            if (!onBoard(row, col)) {
+                continue;
+            }
+            int over = overRow * 8 + overCol;
+            int landing = row * 8 + col;
+            boolean opponent = squares[over] != BitBoard.EMPTY && (squares[over] & code & 3) == 0;
+            // The moving piece has left its starting square, but jumped pieces stay until the move ends
+            boolean free = squares[landing] == BitBoard.EMPTY || landing == start;
+            if (opponent && (captured & 1L << over) == 0 && free) {
+                extended = true;
+                path.add(landing);
+                addCaptures(squares, code, start, path, captured | 1L << over, captures);
+                path.remove(path.size() - 1);
+            }
+        }
+        if (!extended && captured != 0) {
+            captures.add(new Move(path.stream().mapToInt(Integer::intValue).toArray(), captured));
+        }
+    }
+
+    /**
+     * Gets the row and column steps a piece moves in: Black men down the board, White men up, kings both ways.
+     */
+    private static int[][] directions(int code) {
+        if ((code & BitBoard.KING) != 0) {
+            return new int[][]{{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+        }
+        return (code & BitBoard.BLACK) != 0 ? new int[][]{{1, -1}, {1, 1}} : new int[][]{{-1, -1}, {-1, 1}};
+    }
+
+    private static boolean onBoard(int row, int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8;
+    }
+}
@@ -3,25 +3,91 @@ package upei.project;
 /**
  * Abstract class representing a generic piece in the game.
  * Subclasses will implement specific behavior for regular and king pieces.
+ * Pieces are immutable and have no state beyond their color and kind, so the board
+ * shares four canonical instances (see {@link #of(PieceColor, boolean)}) instead of
+ * creating pieces as they move, get copied or are promoted.
  */
 import java.util.List;
+import java.util.Objects;
 
 public abstract class Piece {
-    protected String playerColor; // Color of the piece ("Black" or "White")
+    protected final PieceColor color; // Color of the piece
 
     public Piece(String playerColor) {
-        this.playerColor = playerColor;
+        this(PieceColor.fromName(playerColor));
     }
 
-    // Common method to get the player's color
+    public Piece(PieceColor color) {
+        this.color = color;
+    }
+
+    // Gets the shared instance for a color and kind
+    public static Piece of(PieceColor color, boolean king) {
+        return fromCode(king ? color.getCode() | BitBoard.KING : color.getCode());
+    }
+
+    // Gets the shared instance for a BitBoard piece code, or null for BitBoard.EMPTY
+    static Piece fromCode(int code) {
+        return Canonical.BY_CODE[code];
+    }
+
+    // Holds the shared instances; kept apart so they are created after the Piece class itself
+    private static final class Canonical {
+        static final Piece[] BY_CODE = new Piece[8];
+
+        static {
+            BY_CODE[BitBoard.BLACK] = new RegularPiece(PieceColor.BLACK);
+            BY_CODE[BitBoard.WHITE] = new RegularPiece(PieceColor.WHITE);
+            BY_CODE[BitBoard.BLACK | BitBoard.KING] = new KingPiece(PieceColor.BLACK);
+            BY_CODE[BitBoard.WHITE | BitBoard.KING] = new KingPiece(PieceColor.WHITE);
+        }
+    }
+
+    // Common method to get the player's color as a name ("Black" or "White")
     public String getPlayerColor() {
-        return this.playerColor;
+        return color.getDisplayName();
+    }
+
+    // Gets the color of the piece
+    public PieceColor getPieceColor() {
+        return color;
     }
 
-    // Abstract method for getting valid moves
-    public abstract List<Move> getValidMoves(Board board, int row, int col);
+    // Whether the piece is a King
+    public abstract boolean isKing();
 
-    // Abstract method for creating a copy of the piece
-    public abstract Piece copy();
+    // Gets the BitBoard code of the piece: its color, combined with KING for Kings
+    public int getCode() {
+        return isKing() ? color.getCode() | BitBoard.KING : color.getCode();
+    }
+
+    // Gets the moves this piece could make from the given position; the board's generator
+    // decides the directions from the piece's colour and type
+    public List<Move> getValidMoves(Board board, int row, int col) {
+        return board.getPieceMoves(this, row, col);
+    }
+
+    // Pieces are immutable, so a copy is the piece itself
+    public Piece copy() {
+        return this;
+    }
+
+    // Gets the King of the same color, the piece this one becomes when promoted
+    public Piece promote() {
+        return of(color, true);
+    }
     public abstract char getSymbol();
+
+    // Pieces of the same type and color are interchangeable
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return color == ((Piece) o).color;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), color);
+    }
 }
@@ -0,0 +1,60 @@
+package upei.project;
+
+/**
+ * The two sides of the game. The model compares colors as enum constants;
+ * the names "Black" and "White" are only used when reading or printing a color.
+ */
+public enum PieceColor {
+    BLACK("Black", BitBoard.BLACK),
+    WHITE("White", BitBoard.WHITE);
+
+    private final String displayName; // The name shown to users ("Black" or "White")
+    private final int code;           // The BitBoard color code
+
+    PieceColor(String displayName, int code) {
+        this.displayName = displayName;
+        this.code = code;
+    }
+
+    /**
+     * Gets the name of the color as shown to users.
+     *
+     * @return "Black" or "White".
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the BitBoard code of the color.
+     *
+     * @return BitBoard.BLACK or BitBoard.WHITE.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the color of the other side.
+     *
+     * @return the opposing color.
+     */
+    public PieceColor opponent() {
+        return this == BLACK ? WHITE : BLACK;
+    }
+
+    /**
+     * Reads a color from its name, ignoring case.
+     *
+     * @param name "Black" or "White".
+     * @return the color with that name.
+     */
+    public static PieceColor fromName(String name) {
+        if (BLACK.displayName.equalsIgnoreCase(name)) {
+            return BLACK;
+        } else if (WHITE.displayName.equalsIgnoreCase(name)) {
+            return WHITE;
+        }
+        throw new IllegalArgumentException("Invalid color. Must be 'Black' or 'White'.");
+    }
+}
@@ -1,12 +1,11 @@
 package upei.project;
-import java.util.ArrayList;
 import java.util.List;
 /**
  * The Player class represents a player in the Checkers game.
  * It manages the player's color and strategy.
  */
 public class Player {
-    private final String color; // The color of the player's pieces ("Black" or "White").
+    private final PieceColor color; // The color of the player's pieces.
     private final Strategy strategy; // The strategy used by the player.
 
     /**
@@ -19,19 +18,48 @@ public class Player {
         if (!color.equals("Black") && !color.equals("White")) {
             throw new IllegalArgumentException("Invalid color. Must be 'Black' or 'White'.");
         }
+        this.color = PieceColor.fromName(color);
+        this.strategy = strategy;
+    }
+
+    /**
+     * Constructor for the Player class.
+     *
+     * @param color the color of the player's pieces.
+     * @param strategy the strategy used by the player.
+     */
+    public Player(PieceColor color, Strategy strategy) {
         this.color = color;
         this.strategy = strategy;
     }
 
+    /**
+     * Gets the name of the color of the player's pieces.
+     *
+     * @return "Black" or "White".
+     */
+    public String getColor() {
+        return color.getDisplayName();
+    }
+
     /**
      * Gets the color of the player's pieces.
      *
      * @return the color of the player's pieces.
      */
-    public String getColor() {
+    public PieceColor getPieceColor() {
         return color;
     }
 
+    /**
+     * Gets the strategy used by the player.
+     *
+     * @return the player's strategy.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
     /**
      * Decides a move based on the player's strategy.
      *
@@ -41,20 +69,38 @@ public class Player {
     public Move decideMove(Board board) {
         return strategy.decideMove(board, this);
     }
+
+    /**
+     * Decides a move based on the player's strategy, within the given limits.
+     *
+     * @param board the current state of the board.
+     * @param limits the limits on the time and work spent on the move.
+     * @return a Move object representing the chosen move.
+     */
+    public Move decideMove(Board board, SearchLimits limits) {
+        return strategy.decideMove(board, this, limits);
+    }
+
+    /**
+     * Sets the listener that receives the evaluations made by this player's strategy.
+     *
+     * @param listener the listener to notify.
+     */
+    public void setListener(GameListener listener) {
+        strategy.setListener(listener);
+    }
     public List<Move> getAllValidMoves(Board board) {
-        List<Move> validMoves = new ArrayList<>();
-        for (int row = 0; row < board.getSize(); row++) {
-            for (int col = 0; col < board.getSize(); col++) {
-                Piece piece = board.getPieceAt(row, col);
-                if (piece != null && piece.getPlayerColor().equalsIgnoreCase(this.color)) {
-                    validMoves.addAll(piece.getValidMoves(board, row, col));
-                }
-            }
+        // Every move of every piece, captures not mandatory, from the board's generator
+        BitBoard bits = board.getBitBoard();
+        MoveBuffer buffer = new MoveBuffer();
+        for (long pieces = isBlack() ? bits.getBlack() : bits.getWhite(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            bits.generatePieceMoves(square, bits.pieceAt(square), buffer);
         }
-        return validMoves;
+        return buffer.toList();
     }
     public boolean isBlack() {
-        return this.color.equalsIgnoreCase("Black");
+        return color == PieceColor.BLACK;
     }
 
 }
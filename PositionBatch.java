@@ -0,0 +1,126 @@
+package upei.project;
+
+/**
+ * The PositionBatch class holds the positions reached by each move from one position, stored as
+ * a structure of arrays: one array per bitboard mask, with the positions side by side. A
+ * {@link BatchEvaluator} can then score every child in one tight loop over plain arrays instead
+ * of making and unmaking each move on a board.
+ *
+ * The children are worked out from the masks directly, with the same rules as
+ * {@link BitBoard#makeMove(int)}. A batch reuses its arrays, so it should not be shared across threads.
+ */
+public class PositionBatch {
+    private final long[] black = new long[MoveBuffer.CAPACITY];
+    private final long[] white = new long[MoveBuffer.CAPACITY];
+    private final long[] kings = new long[MoveBuffer.CAPACITY];
+    private final int[] moves = new int[MoveBuffer.CAPACITY];
+    private int size;
+
+    // The position the moves are made from
+    private long parentBlack;
+    private long parentWhite;
+    private long parentKings;
+
+    /**
+     * Replaces the batch with the positions reached by each of the given moves.
+     *
+     * @param parent the position the moves are made from; it is not changed.
+     * @param buffer the packed moves, as generated for the parent.
+     * @return the number of positions in the batch.
+     */
+    public int fill(BitBoard parent, MoveBuffer buffer) {
+        parentBlack = parent.getBlack();
+        parentWhite = parent.getWhite();
+        parentKings = parent.getKings();
+        size = buffer.size();
+        for (int i = 0; i < size; i++) {
+            int move = buffer.get(i);
+            long fromBit = 1L << MoveBuffer.from(move);
+            long toBit = 1L << MoveBuffer.to(move);
+            long captured = MoveBuffer.capturedSquares(move);
+            boolean blackMoves = (parentBlack & fromBit) != 0;
+
+            // The moving piece keeps its crown, or gains one on its crowning row
+            boolean crowned = (parentKings & fromBit) != 0 || (BitBoard.crowningRow(blackMoves) & toBit) != 0;
+            long blackAfter = blackMoves ? (parentBlack & ~fromBit) | toBit : parentBlack & ~captured;
+            long whiteAfter = blackMoves ? parentWhite & ~captured : (parentWhite & ~fromBit) | toBit;
+            black[i] = blackAfter;
+            white[i] = whiteAfter;
+            kings[i] = (parentKings & ~captured & ~fromBit) | (crowned ? toBit : 0L);
+            moves[i] = move;
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of positions in the batch.
+     *
+     * @return the position count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the Black pieces of every position; only the first {@link #size()} entries are used.
+     *
+     * @return the array of Black masks.
+     */
+    public long[] blackMasks() {
+        return black;
+    }
+
+    /**
+     * Gets the White pieces of every position; only the first {@link #size()} entries are used.
+     *
+     * @return the array of White masks.
+     */
+    public long[] whiteMasks() {
+        return white;
+    }
+
+    /**
+     * Gets the kings of every position; only the first {@link #size()} entries are used.
+     *
+     * @return the array of king masks.
+     */
+    public long[] kingMasks() {
+        return kings;
+    }
+
+    /**
+     * Gets the move that leads to each position; only the first {@link #size()} entries are used.
+     *
+     * @return the array of packed moves.
+     */
+    public int[] moves() {
+        return moves;
+    }
+
+    /**
+     * Gets the Black pieces of the position the moves were made from.
+     *
+     * @return the Black mask.
+     */
+    public long getParentBlack() {
+        return parentBlack;
+    }
+
+    /**
+     * Gets the White pieces of the position the moves were made from.
+     *
+     * @return the White mask.
+     */
+    public long getParentWhite() {
+        return parentWhite;
+    }
+
+    /**
+     * Gets the kings of the position the moves were made from.
+     *
+     * @return the king mask.
+     */
+    public long getParentKings() {
+        return parentKings;
+    }
+}
@@ -0,0 +1,97 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionBatchTest {
+
+    /**
+     * Creates a random position with men and kings of both sides on the dark squares.
+     */
+    private BitBoard randomPosition(Random random) {
+        BitBoard bits = new BitBoard();
+        for (int square = 0; square < 64; square++) {
+            if (((square >>> 3) + (square & 7)) % 2 == 1 && random.nextInt(3) == 0) {
+                int code = random.nextBoolean() ? BitBoard.BLACK : BitBoard.WHITE;
+                bits.set(square, random.nextInt(4) == 0 ? code | BitBoard.KING : code);
+            }
+        }
+        return bits;
+    }
+
+    @Test
+    void testChildrenMatchMadeMoves() {
+        Random random = new Random(7);
+        PositionBatch batch = new PositionBatch();
+        MoveBuffer moves = new MoveBuffer();
+        for (int n = 0; n < 500; n++) {
+            BitBoard bits = randomPosition(random);
+            boolean blackToMove = random.nextBoolean();
+            int count = bits.generateMoves(blackToMove, moves);
+
+            assertEquals(count, batch.fill(bits, moves), "The batch should hold one position per move.");
+            for (int i = 0; i < count; i++) {
+                int undo = bits.makeMove(moves.get(i));
+                assertEquals(bits.getBlack(), batch.blackMasks()[i], "Black pieces should match the made move.");
+                assertEquals(bits.getWhite(), batch.whiteMasks()[i], "White pieces should match the made move.");
+                assertEquals(bits.getKings(), batch.kingMasks()[i], "Kings should match the made move.");
+                bits.unmakeMove(moves.get(i), undo);
+            }
+        }
+    }
+
+    @Test
+    void testBatchScoresMatchSingleScores() {
+        Random random = new Random(11);
+        PositionBatch batch = new PositionBatch();
+        MoveBuffer moves = new MoveBuffer();
+        MaterialEvaluator material = new MaterialEvaluator();
+        ThreatEvaluator threats = new ThreatEvaluator();
+        int[] materialScores = new int[MoveBuffer.CAPACITY];
+        int[] threatScores = new int[MoveBuffer.CAPACITY];
+        for (int n = 0; n < 200; n++) {
+            Board board = new Board();
+            BitBoard bits = board.getBitBoard();
+            BitBoard source = randomPosition(random);
+            for (int square = 0; square < 64; square++) {
+                bits.set(square, source.pieceAt(square));
+            }
+            boolean blackToMove = random.nextBoolean();
+            Player player = new Player(blackToMove ? PieceColor.BLACK : PieceColor.WHITE, new RandomStrategy());
+            int count = bits.generateMoves(blackToMove, moves);
+
+            batch.fill(bits, moves);
+            material.evaluate(batch, blackToMove, materialScores);
+            threats.evaluate(batch, blackToMove, threatScores);
+            for (int i = 0; i < count; i++) {
+                int undo = board.makeMove(moves.get(i));
+                assertEquals(material.evaluate(board, player), materialScores[i], "Batch material should match single scoring.");
+                assertEquals(-board.getThreatCount(player.getPieceColor()), threatScores[i], "Batch threats should match the board count.");
+                board.unmakeMove(moves.get(i), undo);
+            }
+        }
+    }
+
+    @Test
+    void testCaptureEvaluatorValuesKingsHigher() {
+        BitBoard bits = new BitBoard();
+        bits.set(BitBoard.square(2, 3), BitBoard.BLACK);
+        bits.set(BitBoard.square(3, 2), BitBoard.WHITE | BitBoard.KING);
+        bits.set(BitBoard.square(3, 4), BitBoard.WHITE);
+        MoveBuffer moves = new MoveBuffer();
+        int count = bits.generateMoves(true, moves);
+        PositionBatch batch = new PositionBatch();
+        batch.fill(bits, moves);
+        int[] scores = new int[count];
+
+        new CaptureEvaluator().evaluate(batch, true, scores);
+
+        for (int i = 0; i < count; i++) {
+            int captured = MoveBuffer.captured(moves.get(i));
+            assertEquals(captured == BitBoard.square(3, 2) ? 3 : 1, scores[i], "A king should be worth 3 and a man 1.");
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package upei.project;
 
-import java.util.List;
 import java.util.Random;
 
 /**
  * RandomStrategy selects a random valid move from the player's available moves.
+ * An instance reuses its move buffer between calls, so it should not be shared across threads.
  */
 public class RandomStrategy implements Strategy {
 
     private final Random random = new Random();
+    private final MoveBuffer moves = new MoveBuffer(); // Reused on every call to avoid allocating per turn
+    private GameListener listener = GameListener.NONE;
 
     /**
      * Decides a random move for the player.
@@ -19,24 +21,25 @@ public class RandomStrategy implements Strategy {
      */
     @Override
     public Move decideMove(Board board, Player player) {
-        List<Move> validMoves = board.getValidMoves(player);
+        int count = board.generateMoves(player, moves);
 
-        // Print valid moves for debugging
-        System.out.println("Valid Moves: ");
-        for (Move move : validMoves) {
-            System.out.println(move);
-        }
+        // Report valid moves for debugging
+        listener.onMovesGenerated(player, moves);
 
-        if (validMoves == null || validMoves.isEmpty()) {
+        if (count == 0) {
             return null;
         }
 
         // Randomly select a valid move
-        int randomIndex = random.nextInt(validMoves.size());
-        Move chosenMove = validMoves.get(randomIndex);
+        int chosenMove = moves.get(random.nextInt(count));
+
+        listener.onMoveChosen(player, chosenMove);
 
-        System.out.println("Chosen Move: " + chosenMove);
+        return MoveBuffer.toMove(chosenMove); // Randomly select a valid move
+    }
 
-        return chosenMove; // Randomly select a valid move
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 }
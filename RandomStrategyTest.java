@@ -82,12 +82,30 @@ public class RandomStrategyTest {
         assertEquals(boardBeforeMove, board.toString(), "RandomStrategy should not modify the board state.");
     }
 
+    @Test
+    void testRandomStrategyReportsToListener() {
+        Board board = new Board();
+        RandomStrategy strategy = new RandomStrategy();
+        Player blackPlayer = new Player("Black", strategy);
 
+        // Record what the strategy reports instead of printing it
+        int[] generated = new int[1];
+        int[] chosen = new int[1];
+        strategy.setListener(new GameListener() {
+            @Override
+            public void onMovesGenerated(Player player, MoveBuffer moves) {
+                generated[0] = moves.size();
+            }
 
+            @Override
+            public void onMoveChosen(Player player, int move) {
+                chosen[0] = move;
+            }
+        });
 
+        Move chosenMove = strategy.decideMove(board, blackPlayer);
 
-
-
-
-
+        assertEquals(7, generated[0], "The listener should see all seven opening moves.");
+        assertEquals(chosenMove, MoveBuffer.toMove(chosen[0]), "The listener should see the chosen move.");
+    }
 }
@@ -0,0 +1,140 @@
+package upei.project;
+
+import java.util.Arrays;
+
+/**
+ * The Ratings class rates the entrants of a {@link Tournament} from the games they play.
+ * It keeps two ratings side by side:
+ * an Elo rating updated after every game, which can be read while the tournament is still running,
+ * and a Bradley-Terry rating fitted to all results so far, which does not depend on the order
+ * the games finished in. Ratings are in Elo points, centred on an average of 0.
+ * Results can be recorded from several threads.
+ */
+public class Ratings {
+    private static final int MAX_ITERATIONS = 1000;
+    private static final double TOLERANCE = 1e-9;
+
+    private final double k;          // Elo change for a fully unexpected result
+    private final double[] elo;      // Incremental Elo ratings
+    private final double[][] points; // points[a][b]: points scored by a against b
+    private final int[][] games;     // games[a][b]: games played between a and b
+
+    /**
+     * Creates ratings for the given number of players, all starting at 0.
+     *
+     * @param players the number of players.
+     * @param k the largest change of an Elo rating after one game.
+     */
+    public Ratings(int players, double k) {
+        if (players < 1) {
+            throw new IllegalArgumentException("At least one player is required.");
+        }
+        this.k = k;
+        this.elo = new double[players];
+        this.points = new double[players][players];
+        this.games = new int[players][players];
+    }
+
+    /**
+     * Records a game.
+     *
+     * @param a the first player.
+     * @param b the second player.
+     * @param score the first player's score: 1 for a win, 0.5 for a draw, 0 for a loss.
+     */
+    public synchronized void record(int a, int b, double score) {
+        double change = k * (score - Sprt.expectedScore(elo[a] - elo[b]));
+        elo[a] += change;
+        elo[b] -= change;
+        points[a][b] += score;
+        points[b][a] += 1 - score;
+        games[a][b]++;
+        games[b][a]++;
+    }
+
+    /**
+     * Gets a player's incremental Elo rating.
+     *
+     * @param player the player.
+     * @return the rating.
+     */
+    public synchronized double getElo(int player) {
+        return elo[player];
+    }
+
+    /**
+     * Gets a player's total score.
+     *
+     * @param player the player.
+     * @return the points scored in all games.
+     */
+    public synchronized double getPoints(int player) {
+        double total = 0;
+        for (double score : points[player]) {
+            total += score;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of games a player has played.
+     *
+     * @param player the player.
+     * @return the game count.
+     */
+    public synchronized int getGames(int player) {
+        int total = 0;
+        for (int count : games[player]) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Fits Bradley-Terry strengths to the results with the minorization-maximization algorithm.
+     * Draws count as half a win for each side, and every pair that has met gets one extra
+     * virtual draw so players who won or lost every game still have a finite rating.
+     *
+     * @return each player's rating in Elo points, centred on 0.
+     */
+    public synchronized double[] bradleyTerry() {
+        int players = elo.length;
+        double[] strength = new double[players];
+        Arrays.fill(strength, 1);
+        double[] next = new double[players];
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            for (int a = 0; a < players; a++) {
+                double won = 0;
+                double expected = 0;
+                for (int b = 0; b < players; b++) {
+                    if (b != a && games[a][b] > 0) {
+                        won += points[a][b] + 0.5;
+                        expected += (games[a][b] + 1) / (strength[a] + strength[b]);
+                    }
+                }
+                next[a] = expected > 0 ? won / expected : strength[a];
+            }
+            // Strengths are only defined up to a common factor; keep their geometric mean at 1
+            double logMean = 0;
+            for (double value : next) {
+                logMean += Math.log(value) / players;
+            }
+            for (int a = 0; a < players; a++) {
+                double value = next[a] / Math.exp(logMean);
+                change = Math.max(change, Math.abs(value - strength[a]) / strength[a]);
+                strength[a] = value;
+            }
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        double[] ratings = new double[players];
+        for (int a = 0; a < players; a++) {
+            ratings[a] = 400 * Math.log10(strength[a]);
+        }
+        return ratings;
+    }
+}
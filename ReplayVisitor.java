@@ -0,0 +1,17 @@
+package upei.project;
+
+/**
+ * The ReplayVisitor interface is called with every position of a game replayed by a
+ * {@link GameRecordReader}.
+ */
+public interface ReplayVisitor {
+    /**
+     * Called with the starting position and again after every move.
+     *
+     * @param board the position; only valid for the duration of the call.
+     * @param blackToMove whether Black moves next.
+     * @param ply the number of moves played to reach the position.
+     * @return true to continue the replay, false to stop it here.
+     */
+    boolean onPosition(Board board, boolean blackToMove, int ply);
+}
@@ -0,0 +1,152 @@
+package upei.project;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SearchLimits bounds how much work a strategy may spend on one move: a time limit,
+ * a node limit and a depth limit, each of which can be left out. A search also stops early
+ * once {@link #stop()} is called, which any thread may do while the search is running.
+ *
+ * Limits are immutable apart from the stop flag; the {@code with} methods return a copy
+ * that shares the flag of the original. What counts as a node or as depth is up to each
+ * strategy, and strategies that decide instantly can ignore the limits altogether.
+ */
+public final class SearchLimits {
+    private final long maxTimeNanos; // 0 means no time limit
+    private final long maxNodes;     // 0 means no node limit
+    private final int maxDepth;      // 0 means no depth limit
+    private final AtomicBoolean stopped;
+
+    private SearchLimits(long maxTimeNanos, long maxNodes, int maxDepth, AtomicBoolean stopped) {
+        this.maxTimeNanos = maxTimeNanos;
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+        this.stopped = stopped;
+    }
+
+    /**
+     * Creates limits that only stop the search when {@link #stop()} is called.
+     *
+     * @return new limits without any bound.
+     */
+    public static SearchLimits none() {
+        return new SearchLimits(0, 0, 0, new AtomicBoolean());
+    }
+
+    /**
+     * Creates limits with only a time limit.
+     *
+     * @param maxTimeMillis the time allowed for the move in milliseconds.
+     * @return new limits with the given time limit.
+     */
+    public static SearchLimits ofTime(long maxTimeMillis) {
+        return none().withMaxTime(maxTimeMillis);
+    }
+
+    /**
+     * Returns a copy of these limits with a different time limit.
+     *
+     * @param maxTimeMillis the time allowed for the move in milliseconds, or 0 for no limit.
+     * @return the new limits.
+     */
+    public SearchLimits withMaxTime(long maxTimeMillis) {
+        if (maxTimeMillis < 0) {
+            throw new IllegalArgumentException("Time limit cannot be negative.");
+        }
+        return new SearchLimits(maxTimeMillis * 1_000_000L, maxNodes, maxDepth, stopped);
+    }
+
+    /**
+     * Returns a copy of these limits with a different node limit.
+     *
+     * @param maxNodes the number of nodes the search may visit, or 0 for no limit.
+     * @return the new limits.
+     */
+    public SearchLimits withMaxNodes(long maxNodes) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("Node limit cannot be negative.");
+        }
+        return new SearchLimits(maxTimeNanos, maxNodes, maxDepth, stopped);
+    }
+
+    /**
+     * Returns a copy of these limits with a different depth limit.
+     *
+     * @param maxDepth the deepest depth the search may reach in plies, or 0 for no limit.
+     * @return the new limits.
+     */
+    public SearchLimits withMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Depth limit cannot be negative.");
+        }
+        return new SearchLimits(maxTimeNanos, maxNodes, maxDepth, stopped);
+    }
+
+    /**
+     * Gets the time limit.
+     *
+     * @return the time allowed in nanoseconds, or 0 if there is no time limit.
+     */
+    public long getMaxTimeNanos() {
+        return maxTimeNanos;
+    }
+
+    /**
+     * Gets the node limit.
+     *
+     * @return the number of nodes allowed, or 0 if there is no node limit.
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Gets the depth limit.
+     *
+     * @return the depth allowed in plies, or 0 if there is no depth limit.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Works out when a search that started at the given time has to stop.
+     *
+     * @param startTime the {@link System#nanoTime()} at which the search started.
+     * @return the deadline as a {@link System#nanoTime()} value, or 0 if there is no time limit.
+     */
+    public long deadline(long startTime) {
+        return maxTimeNanos > 0 ? startTime + maxTimeNanos : 0;
+    }
+
+    /**
+     * Asks the search to stop as soon as it can. The search still returns a move,
+     * the best one it found so far.
+     */
+    public void stop() {
+        stopped.set(true);
+    }
+
+    /**
+     * Checks whether the search has been asked to stop.
+     *
+     * @return true once {@link #stop()} has been called.
+     */
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    /**
+     * Combines two deadlines, either of which may be 0 for none.
+     *
+     * @param deadline the first deadline.
+     * @param other the second deadline.
+     * @return the earlier deadline, or 0 if neither is set.
+     */
+    static long earlier(long deadline, long other) {
+        if (deadline == 0) {
+            return other;
+        }
+        return other == 0 ? deadline : Math.min(deadline, other);
+    }
+}
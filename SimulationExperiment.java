@@ -1,10 +1,19 @@
 package upei.project;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * The SimulationExperiment class runs a series of games between players with different strategies
@@ -12,6 +21,8 @@ import java.util.Map;
  */
 public class SimulationExperiment {
     private final int numberOfGames;
+    private GameListener listener = GameListener.NONE; // Receives events from every game; silent by default
+    private GameRecordSink recordSink; // Receives the record of every game; null to keep none
 
     /**
      * Constructor for the SimulationExperiment class.
@@ -22,6 +33,26 @@ public class SimulationExperiment {
         this.numberOfGames = numberOfGames;
     }
 
+    /**
+     * Sets the listener attached to every simulated game.
+     * With the default listener the experiment runs headless.
+     *
+     * @param listener the listener to notify.
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the sink that receives the record of every simulated game.
+     * A {@link GameRecordWriter} archives them.
+     *
+     * @param recordSink the sink to use, or null to keep no records.
+     */
+    public void setRecordSink(GameRecordSink recordSink) {
+        this.recordSink = recordSink;
+    }
+
     /**
      * Runs the simulation experiment between two strategies.
      *
@@ -38,22 +69,23 @@ public class SimulationExperiment {
 
         // Simulate games
         for (int i = 0; i < numberOfGames; i++) {
-            System.out.println("Game " + (i + 1) + " of " + numberOfGames);
+            listener.onSimulationGame(i + 1, numberOfGames);
 
             // Create players with the specified strategies
-            Player player1 = new Player("Black", strategy1);
-            Player player2 = new Player("White", strategy2);
+            Player player1 = new Player(PieceColor.BLACK, strategy1);
+            Player player2 = new Player(PieceColor.WHITE, strategy2);
 
             // Initialize a new game
             Game game = new Game(player1, player2);
-            game.startGame();
+            game.setListener(listener);
+            game.setRecordSink(recordSink);
+            GameResult result = game.play();
 
-            // Determine the winner
-            String winner = game.determineWinner(); // Returns "Player 1", "Player 2", or "Draw"
-            if (winner.equals("Player 1")) {
+            // Record the winner
+            if (result.getWinner() == player1) {
                 strategyResults.put(strategy1.getClass().getSimpleName() + " Wins",
                         strategyResults.get(strategy1.getClass().getSimpleName() + " Wins") + 1);
-            } else if (winner.equals("Player 2")) {
+            } else if (result.getWinner() == player2) {
                 strategyResults.put(strategy2.getClass().getSimpleName() + " Wins",
                         strategyResults.get(strategy2.getClass().getSimpleName() + " Wins") + 1);
             } else {
@@ -64,6 +96,110 @@ public class SimulationExperiment {
         return strategyResults;
     }
 
+    /**
+     * Runs the simulation experiment between two strategies on all available processors.
+     *
+     * @param strategy1 creates the first player's strategy.
+     * @param strategy2 creates the second player's strategy.
+     * @return a map containing the results of the simulation for each strategy.
+     */
+    public Map<String, Integer> runParallel(Supplier<? extends Strategy> strategy1,
+                                            Supplier<? extends Strategy> strategy2) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return runParallel(strategy1, strategy2, executor, threads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the simulation experiment between two strategies, spreading the games over an executor.
+     * Each worker creates its own strategy instances from the factories, so strategies that keep
+     * state between moves (random generators, move buffers) are never shared between threads.
+     * Workers claim games from a shared counter until all games have been played.
+     * If a game fails or the caller is interrupted, the workers stop claiming games.
+     *
+     * @param strategy1 creates the first player's strategy.
+     * @param strategy2 creates the second player's strategy.
+     * @param executor the executor that runs the workers; it is not shut down.
+     * @param workers the number of workers to submit, normally the executor's thread count.
+     * @return a map containing the results of the simulation for each strategy.
+     */
+    public Map<String, Integer> runParallel(Supplier<? extends Strategy> strategy1,
+                                            Supplier<? extends Strategy> strategy2,
+                                            ExecutorService executor, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required.");
+        }
+        // Names come from the strategies the workers create, so no instance is made only for its name
+        AtomicReference<String> strategy1Name = new AtomicReference<>();
+        AtomicReference<String> strategy2Name = new AtomicReference<>();
+
+        // Lock-free counters shared by all workers
+        AtomicInteger nextGame = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean(); // Set when a game fails, so no further games are claimed
+        LongAdder player1Wins = new LongAdder();
+        LongAdder player2Wins = new LongAdder();
+        LongAdder draws = new LongAdder();
+
+        Callable<Void> worker = () -> {
+            Player player1 = new Player(PieceColor.BLACK, strategy1.get());
+            Player player2 = new Player(PieceColor.WHITE, strategy2.get());
+            strategy1Name.compareAndSet(null, player1.getStrategy().getClass().getSimpleName());
+            strategy2Name.compareAndSet(null, player2.getStrategy().getClass().getSimpleName());
+            int gameIndex;
+            while (!stopped.get() && (gameIndex = nextGame.getAndIncrement()) < numberOfGames) {
+                listener.onSimulationGame(gameIndex + 1, numberOfGames);
+                Game game = new Game(player1, player2);
+                game.setListener(listener);
+                game.setRecordSink(recordSink);
+                GameResult result;
+                try {
+                    result = game.play();
+                } catch (RuntimeException | Error e) {
+                    stopped.set(true);
+                    throw e;
+                }
+
+                if (result.getWinner() == player1) {
+                    player1Wins.increment();
+                } else if (result.getWinner() == player2) {
+                    player2Wins.increment();
+                } else {
+                    draws.increment();
+                }
+            }
+            return null;
+        };
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            stopped.set(true);
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("A simulated game failed.", e.getCause());
+        }
+
+        Map<String, Integer> strategyResults = new HashMap<>();
+        strategyResults.put(strategy1Name.get() + " Wins", player1Wins.intValue());
+        strategyResults.put(strategy2Name.get() + " Wins", player2Wins.intValue());
+        strategyResults.put("Draws", draws.intValue());
+        return strategyResults;
+    }
+
     /**
      * Prints the results of the simulation experiment.
      *
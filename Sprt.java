@@ -0,0 +1,143 @@
+package upei.project;
+
+/**
+ * The Sprt class is a sequential probability ratio test on game results. After each pair of games
+ * it weighs how much likelier the results are if the Elo difference is {@code elo1} than if it is
+ * {@code elo0}, and stops the match as soon as either hypothesis is accepted with the chosen error
+ * rates. Matches between clearly different players are settled after a handful of games.
+ *
+ * The log-likelihood ratio uses the normal approximation to the trinomial (win/draw/loss)
+ * distribution of game scores. The variance is estimated with one extra win, draw and loss added
+ * to the results, so a short run of identical results does not look certain, and no decision is
+ * made before a minimum number of games.
+ */
+public class Sprt {
+    /**
+     * The state of the test.
+     */
+    public enum Decision {
+        CONTINUE,  // More games are needed
+        ACCEPT_H0, // The Elo difference is elo0 or less
+        ACCEPT_H1  // The Elo difference is elo1 or more
+    }
+
+    private static final int DEFAULT_MIN_GAMES = 20;
+    private static final int PRIOR_GAMES = 1; // Pseudo-games of each result added to the variance estimate
+
+    private final double score0; // Expected score under H0
+    private final double score1; // Expected score under H1
+    private final double lowerBound;
+    private final double upperBound;
+    private final int minGames;
+
+    /**
+     * Creates a test that decides after at least 20 games.
+     *
+     * @param elo0 the Elo difference of the null hypothesis.
+     * @param elo1 the Elo difference of the alternative hypothesis (greater than elo0).
+     * @param alpha the chance of accepting H1 when H0 is true.
+     * @param beta the chance of accepting H0 when H1 is true.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        this(elo0, elo1, alpha, beta, DEFAULT_MIN_GAMES);
+    }
+
+    /**
+     * Creates a test.
+     *
+     * @param elo0 the Elo difference of the null hypothesis.
+     * @param elo1 the Elo difference of the alternative hypothesis (greater than elo0).
+     * @param alpha the chance of accepting H1 when H0 is true.
+     * @param beta the chance of accepting H0 when H1 is true.
+     * @param minGames the number of games to play before either hypothesis can be accepted.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta, int minGames) {
+        if (minGames < 1) {
+            throw new IllegalArgumentException("At least one game is required.");
+        }
+        if (elo1 <= elo0) {
+            throw new IllegalArgumentException("elo1 must be greater than elo0.");
+        }
+        if (alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 1.");
+        }
+        this.score0 = expectedScore(elo0);
+        this.score1 = expectedScore(elo1);
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+        this.minGames = minGames;
+    }
+
+    /**
+     * Creates a test that decides which of two players is stronger: H0 is that the first player
+     * is weaker by the given margin, H1 that it is stronger by it, with 5% error rates.
+     *
+     * @param margin the Elo margin (positive).
+     * @return the test.
+     */
+    public static Sprt whichIsStronger(double margin) {
+        return new Sprt(-margin, margin, 0.05, 0.05);
+    }
+
+    /**
+     * Computes the log-likelihood ratio of H1 against H0 for a set of results.
+     *
+     * @param wins the first player's wins.
+     * @param draws the draws.
+     * @param losses the first player's losses.
+     * @return the log-likelihood ratio; positive values favour H1.
+     */
+    public double logLikelihoodRatio(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0) {
+            return 0;
+        }
+        double mean = (wins + draws / 2.0) / games;
+        // The pseudo-games keep the variance away from 0 when every result so far is the same
+        int priorGames = games + 3 * PRIOR_GAMES;
+        double priorMean = (wins + PRIOR_GAMES + (draws + PRIOR_GAMES) / 2.0) / priorGames;
+        double variance = (wins + PRIOR_GAMES + (draws + PRIOR_GAMES) / 4.0) / priorGames - priorMean * priorMean;
+        return games * (score1 - score0) * (2 * mean - score0 - score1) / (2 * variance);
+    }
+
+    /**
+     * Decides whether the results settle the test.
+     *
+     * @param wins the first player's wins.
+     * @param draws the draws.
+     * @param losses the first player's losses.
+     * @return the decision; CONTINUE before the minimum number of games.
+     */
+    public Decision decide(int wins, int draws, int losses) {
+        if (wins + draws + losses < minGames) {
+            return Decision.CONTINUE;
+        }
+        double ratio = logLikelihoodRatio(wins, draws, losses);
+        if (ratio >= upperBound) {
+            return Decision.ACCEPT_H1;
+        } else if (ratio <= lowerBound) {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+
+    /**
+     * Converts an Elo difference into the expected score of the stronger player.
+     *
+     * @param elo the Elo difference.
+     * @return the expected score, between 0 and 1.
+     */
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Converts a score into the Elo difference that predicts it.
+     *
+     * @param score the score, between 0 and 1.
+     * @return the Elo difference; infinite for a score of 0 or 1.
+     */
+    public static double eloDifference(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+}
@@ -13,4 +13,27 @@ public interface Strategy {
      * @return a Move object representing the chosen move.
      */
     Move decideMove(Board board, Player player);
+
+    /**
+     * Decides a move within the given limits. Searching strategies stop when they reach a limit
+     * or are asked to stop, and play the best move found so far. Strategies that decide
+     * instantly ignore the limits, which is what this default does.
+     *
+     * @param board the current state of the game board.
+     * @param player the player making the move.
+     * @param limits the limits on the time and work spent on the move.
+     * @return a Move object representing the chosen move.
+     */
+    default Move decideMove(Board board, Player player, SearchLimits limits) {
+        return decideMove(board, player);
+    }
+
+    /**
+     * Sets the listener that receives this strategy's move evaluations.
+     * Strategies that report nothing can ignore it.
+     *
+     * @param listener the listener to notify.
+     */
+    default void setListener(GameListener listener) {
+    }
 }
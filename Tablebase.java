@@ -0,0 +1,364 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Tablebase class holds the perfect-play result of every position with few pieces,
+ * as computed by {@link TablebaseGenerator}. For each position and side to move it stores
+ * whether the side to move wins, loses or draws, and in how many moves the game ends.
+ *
+ * Results follow the game's own rules: the game ends when either side cannot move and is won
+ * by the side with more pieces. The no-capture limit is left out, so a stored win may take longer
+ * than that limit allows; {@link Game} takes this into account when adjudicating. Positions that
+ * can go on forever with best play are draws.
+ *
+ * Positions are grouped by material (Black men, Black kings, White men, White kings), and each
+ * group is a table with exactly one entry per placement of the pieces on the 32 dark squares and
+ * side to move. The index of a position is computed from its piece squares with the combinatorial
+ * number system, so the tables need no keys and have no gaps. The tables are memory-mapped from
+ * the file, so loading is quick and the operating system only reads the pages that are probed.
+ *
+ * A tablebase is read-only once loaded and can be shared between threads.
+ */
+public class Tablebase {
+    // Results for the side to move
+    static final int UNKNOWN = 0; // Only seen while the tables are being generated
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+    public static final int DRAW = 3;
+
+    static final int MAGIC = 0x434B5442; // "CKTB"
+    static final int VERSION = 1;
+    static final int MAX_PIECES = 5;     // Larger tables take too long to generate
+    static final int DISTANCE_MASK = 0x3FFF;
+    private static final int RESULT_SHIFT = 14;
+
+    // Board square of each dark square, and dark square index of each board square (-1 for light squares)
+    private static final int[] DARK_SQUARES = new int[32];
+    private static final int[] DARK_INDEX = new int[64];
+    // Piece code of each group of a signature
+    private static final int[] GROUP_CODES = {BitBoard.BLACK, BitBoard.BLACK | BitBoard.KING, BitBoard.WHITE, BitBoard.WHITE | BitBoard.KING};
+    // Binomial coefficients C(n, k) for n <= 32
+    private static final int[][] CHOOSE = new int[33][MAX_PIECES + 1];
+
+    static {
+        int dark = 0;
+        for (int square = 0; square < 64; square++) {
+            boolean isDark = ((square >>> 3) + (square & 7)) % 2 == 1;
+            DARK_INDEX[square] = isDark ? dark : -1;
+            if (isDark) {
+                DARK_SQUARES[dark++] = square;
+            }
+        }
+        for (int n = 0; n <= 32; n++) {
+            CHOOSE[n][0] = 1;
+            for (int k = 1; k <= MAX_PIECES; k++) {
+                CHOOSE[n][k] = n == 0 ? 0 : CHOOSE[n - 1][k - 1] + CHOOSE[n - 1][k];
+            }
+        }
+    }
+
+    private final int maxPieces;
+    private final ShortBuffer[] tables; // Indexed by material signature; null where there is no table
+
+    Tablebase(int maxPieces, ShortBuffer[] tables) {
+        this.maxPieces = maxPieces;
+        this.tables = tables;
+    }
+
+    /**
+     * Opens a tablebase file by mapping its tables into memory.
+     *
+     * @param path the tablebase file.
+     * @return the tablebase.
+     * @throws IOException if the file cannot be read.
+     */
+    public static Tablebase load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a tablebase file.");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported tablebase version: " + header.getInt(4));
+            }
+            int maxPieces = header.getInt(8);
+            int count = header.getInt(12);
+            if (maxPieces < 2 || maxPieces > MAX_PIECES || count < 0 || count > 1 << 12) {
+                throw new IllegalArgumentException("The tablebase header is corrupt.");
+            }
+
+            // Directory of (signature, entry count) pairs, followed by the tables in the same order
+            ByteBuffer directory = ByteBuffer.allocate(count * 8);
+            readFully(channel, directory, 16);
+            ShortBuffer[] tables = new ShortBuffer[1 << 12];
+            long offset = 16 + count * 8L;
+            for (int i = 0; i < count; i++) {
+                int signature = directory.getInt(i * 8);
+                int size = directory.getInt(i * 8 + 4);
+                if (signature < 0 || signature >= tables.length || size != size(signature)
+                        || offset + size * 2L > channel.size()) {
+                    throw new IllegalArgumentException("The tablebase directory is corrupt.");
+                }
+                // The mappings stay valid after the channel is closed
+                tables[signature] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size * 2L).asShortBuffer();
+                offset += size * 2L;
+            }
+            return new Tablebase(maxPieces, tables);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalArgumentException("The tablebase file is truncated.");
+            }
+        }
+    }
+
+    /**
+     * Gets the largest number of pieces the tablebase covers.
+     *
+     * @return the piece count.
+     */
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param board the position.
+     * @param blackToMove whether Black is to move.
+     * @return the packed value (see {@link #result(int)} and {@link #distance(int)}),
+     *         or -1 if the position is not covered.
+     */
+    public int probe(Board board, boolean blackToMove) {
+        return value(board.getBitBoard(), blackToMove);
+    }
+
+    /**
+     * Finds the best move in a position: the quickest win, the longest defence when losing,
+     * or a move that keeps the draw.
+     *
+     * @param board the position.
+     * @param blackToMove whether Black is to move.
+     * @return the best packed move, or -1 if the position is not covered or has no moves.
+     */
+    public int bestMove(Board board, boolean blackToMove) {
+        BitBoard bits = board.getBitBoard().copy();
+        int value = value(bits, blackToMove);
+        if (value < 0) {
+            return -1;
+        }
+        MoveBuffer moves = new MoveBuffer();
+        int count = bits.generateMoves(blackToMove, moves);
+        int bestMove = -1;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            int undo = bits.makeMove(move);
+            int reply = value(bits, !blackToMove);
+            bits.unmakeMove(move, undo);
+
+            // Rank the move from the mover's side: a reply that loses first (the sooner the better),
+            // then a draw, then a reply that wins (the later the better)
+            int result = reply < 0 ? DRAW : result(reply);
+            int distance = distance(reply);
+            int rank = result == LOSS ? 2 * DISTANCE_MASK - distance
+                    : result == WIN ? distance - DISTANCE_MASK - 1 : 0;
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Gets the result from a packed value.
+     *
+     * @param value a value returned by probe.
+     * @return WIN, LOSS or DRAW for the side to move.
+     */
+    public static int result(int value) {
+        return value >>> RESULT_SHIFT;
+    }
+
+    /**
+     * Gets the distance from a packed value.
+     *
+     * @param value a value returned by probe.
+     * @return the number of moves (by both sides) until the game ends with best play;
+     *         0 for draws and finished games.
+     */
+    public static int distance(int value) {
+        return value & DISTANCE_MASK;
+    }
+
+    static int encode(int result, int distance) {
+        return (result << RESULT_SHIFT) | Math.min(distance, DISTANCE_MASK);
+    }
+
+    /**
+     * Gets the value of a position, working out finished games directly.
+     *
+     * @return the packed value, or -1 if the position is not covered.
+     */
+    int value(BitBoard bits, boolean blackToMove) {
+        if (!bits.hasAnyMove(blackToMove) || !bits.hasAnyMove(!blackToMove)) {
+            return encode(materialResult(bits, blackToMove), 0);
+        }
+        int signature = signature(bits);
+        if (signature < 0 || tables[signature] == null) {
+            return -1;
+        }
+        int value = tables[signature].get(index(bits, signature, blackToMove)) & 0xFFFF;
+        return result(value) == UNKNOWN ? encode(DRAW, 0) : value;
+    }
+
+    /**
+     * Decides a finished game the way {@link Game#determineWinner()} does: by piece count.
+     */
+    static int materialResult(BitBoard bits, boolean blackToMove) {
+        int own = Long.bitCount(blackToMove ? bits.getBlack() : bits.getWhite());
+        int opponent = Long.bitCount(blackToMove ? bits.getWhite() : bits.getBlack());
+        return own > opponent ? WIN : own < opponent ? LOSS : DRAW;
+    }
+
+    /**
+     * Packs a material signature: Black men, Black kings, White men and White kings, three bits each.
+     */
+    static int signature(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+        return blackMen | (blackKings << 3) | (whiteMen << 6) | (whiteKings << 9);
+    }
+
+    /**
+     * Gets the material signature of a position.
+     *
+     * @return the signature, or -1 if it has too many pieces or pieces on light squares.
+     */
+    static int signature(BitBoard bits) {
+        long occupied = bits.getBlack() | bits.getWhite();
+        if (Long.bitCount(occupied) > MAX_PIECES) {
+            return -1;
+        }
+        for (long squares = occupied; squares != 0; squares &= squares - 1) {
+            if (DARK_INDEX[Long.numberOfTrailingZeros(squares)] < 0) {
+                return -1;
+            }
+        }
+        long kings = bits.getKings();
+        return signature(Long.bitCount(bits.getBlack() & ~kings), Long.bitCount(bits.getBlack() & kings),
+                Long.bitCount(bits.getWhite() & ~kings), Long.bitCount(bits.getWhite() & kings));
+    }
+
+    /**
+     * Gets the number of pieces in a group of a signature.
+     *
+     * @param group 0 for Black men, 1 for Black kings, 2 for White men, 3 for White kings.
+     */
+    static int groupSize(int signature, int group) {
+        return (signature >>> (3 * group)) & 7;
+    }
+
+    /**
+     * Gets the number of positions with a signature, counting both sides to move.
+     */
+    static int size(int signature) {
+        long size = 2;
+        int free = 32;
+        for (int g = 0; g < 4; g++) {
+            size *= CHOOSE[free][groupSize(signature, g)];
+            free -= groupSize(signature, g);
+        }
+        return size > Integer.MAX_VALUE ? -1 : (int) size;
+    }
+
+    /**
+     * Computes the perfect index of a position within the table of its signature. Each group of
+     * pieces is ranked among the dark squares the earlier groups left free, and the ranks are
+     * combined as the digits of a mixed-radix number, with the side to move as the last digit.
+     */
+    static int index(BitBoard bits, int signature, boolean blackToMove) {
+        long kings = bits.getKings();
+        long taken = 0; // Dark squares used by earlier groups, as a 32-bit mask
+        long index = 0;
+        int free = 32;
+        for (int g = 0; g < 4; g++) {
+            long rank = 0;
+            int k = 0;
+            long groupSquares = 0;
+            long pieces = (g < 2 ? bits.getBlack() : bits.getWhite()) & ((g & 1) == 0 ? ~kings : kings);
+            for (long squares = pieces; squares != 0; squares &= squares - 1) {
+                int dark = DARK_INDEX[Long.numberOfTrailingZeros(squares)];
+                int relative = dark - Long.bitCount(taken & ((1L << dark) - 1)); // Rank among free squares
+                rank += CHOOSE[relative][++k];
+                groupSquares |= 1L << dark;
+            }
+            index = index * CHOOSE[free][groupSize(signature, g)] + rank;
+            taken |= groupSquares;
+            free -= groupSize(signature, g);
+        }
+        return (int) (index * 2 + (blackToMove ? 0 : 1));
+    }
+
+    /**
+     * Sets up the position with the given index in the table of a signature, the reverse of
+     * {@link #index(BitBoard, int, boolean)}.
+     *
+     * @param bits an empty bitboard to place the pieces on.
+     * @return whether Black is to move.
+     */
+    static boolean unrank(int signature, int index, BitBoard bits) {
+        boolean blackToMove = (index & 1) == 0;
+        int remaining = index >>> 1;
+
+        // Peel off the mixed-radix digits, last group first
+        int free = 32 - groupSize(signature, 0) - groupSize(signature, 1) - groupSize(signature, 2) - groupSize(signature, 3);
+        int[] ranks = new int[4];
+        for (int g = 3; g >= 0; g--) {
+            free += groupSize(signature, g);
+            int radix = CHOOSE[free][groupSize(signature, g)];
+            ranks[g] = remaining % radix;
+            remaining /= radix;
+        }
+
+        long taken = 0;
+        for (int g = 0; g < 4; g++) {
+            int rank = ranks[g];
+            long groupSquares = 0;
+            for (int k = groupSize(signature, g); k > 0; k--) {
+                // The largest relative square r with C(r, k) <= rank is the k-th smallest square
+                int relative = k - 1;
+                while (CHOOSE[relative + 1][k] <= rank) {
+                    relative++;
+                }
+                rank -= CHOOSE[relative][k];
+                int dark = nthFree(taken, relative);
+                groupSquares |= 1L << dark;
+                bits.set(DARK_SQUARES[dark], GROUP_CODES[g]);
+            }
+            taken |= groupSquares;
+        }
+        bits.setWhiteToMove(!blackToMove);
+        return blackToMove;
+    }
+
+    /**
+     * Finds the dark square that is the given number of places into the squares not yet taken.
+     */
+    private static int nthFree(long taken, int n) {
+        long free = ~taken & 0xFFFFFFFFL;
+        for (; n > 0; n--) {
+            free &= free - 1;
+        }
+        return Long.numberOfTrailingZeros(free);
+    }
+}
@@ -0,0 +1,367 @@
+package upei.project;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The TablebaseGenerator class solves every position with up to a given number of pieces
+ * by retrograde analysis and writes the results as a {@link Tablebase} file.
+ *
+ * Tables are solved from the fewest pieces up, so a capture always leads into a table that is
+ * already solved, and only plain steps stay inside the table being solved. One parallel pass
+ * scores the finished games and looks up every capture. Positions are then settled in order of
+ * distance: when a position is settled, the steps leading into it are taken back, and each
+ * position found that way becomes a win one move later if this one is lost, or comes one move
+ * closer to being lost if this one is won (it is lost once every move it has leads to a win).
+ * Whatever is never settled can be kept going forever by both sides, so it is a draw.
+ */
+public class TablebaseGenerator {
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final byte BLOCKED = -1; // Marks a position with a move that avoids losing
+
+    private final int maxPieces;
+    private final ShortBuffer[] tables = new ShortBuffer[1 << 12];
+    private final List<Integer> signatures = new ArrayList<>(); // Solved signatures, in solving order
+    private final Tablebase tablebase;
+    private int maxDistance; // Longest win or loss found so far
+    private long positions;
+
+    /**
+     * Creates a generator.
+     *
+     * @param maxPieces the largest number of pieces, of both sides together, to solve (2 to 5).
+     */
+    public TablebaseGenerator(int maxPieces) {
+        if (maxPieces < 2 || maxPieces > Tablebase.MAX_PIECES) {
+            throw new IllegalArgumentException("Piece count must be between 2 and " + Tablebase.MAX_PIECES + ".");
+        }
+        this.maxPieces = maxPieces;
+        this.tablebase = new Tablebase(maxPieces, tables);
+    }
+
+    /**
+     * Solves every table. Tables are kept in memory until written.
+     *
+     * @return a tablebase over the solved tables, usable without writing them out.
+     */
+    public Tablebase generate() {
+        List<int[]> materials = new ArrayList<>();
+        for (int blackMen = 0; blackMen <= maxPieces; blackMen++) {
+            for (int blackKings = 0; blackMen + blackKings <= maxPieces; blackKings++) {
+                for (int whiteMen = 0; blackMen + blackKings + whiteMen <= maxPieces; whiteMen++) {
+                    for (int whiteKings = 0; blackMen + blackKings + whiteMen + whiteKings <= maxPieces; whiteKings++) {
+                        if (blackMen + blackKings > 0 && whiteMen + whiteKings > 0) {
+                            materials.add(new int[]{blackMen, blackKings, whiteMen, whiteKings});
+                        }
+                    }
+                }
+            }
+        }
+        // Fewest pieces first; among equal counts, more kings first, in case a move ever crowns a man
+        materials.sort(Comparator.<int[]>comparingInt(m -> m[0] + m[1] + m[2] + m[3])
+                .thenComparingInt(m -> -(m[1] + m[3])));
+
+        for (int[] material : materials) {
+            int signature = Tablebase.signature(material[0], material[1], material[2], material[3]);
+            if (tables[signature] == null) {
+                solve(signature);
+            }
+        }
+        return tablebase;
+    }
+
+    /**
+     * Solves the table of one signature.
+     */
+    private void solve(int signature) {
+        int size = Tablebase.size(signature);
+        short[] table = new short[size];
+        tables[signature] = ShortBuffer.wrap(table);
+        byte[] unknown = new byte[size];  // Moves within the table not yet known to lose; BLOCKED if the side can avoid a loss
+        short[] longest = new short[size]; // Longest win among the replies known so far
+        int[] shortest = new int[size];    // Shortest loss among the replies that leave the table
+        Buckets buckets = new Buckets();
+
+        // Score finished games, and look up every move that leaves the table (captures) in the smaller tables
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            BitBoard bits = new BitBoard();
+            MoveBuffer moves = new MoveBuffer();
+            for (int index = chunk * CHUNK_SIZE; index < Math.min(size, (chunk + 1) * CHUNK_SIZE); index++) {
+                examine(table, unknown, longest, shortest, bits, moves, signature, index);
+            }
+        });
+        for (int index = 0; index < size; index++) {
+            if (table[index] != 0) {
+                buckets.add(0, index, Tablebase.result(table[index] & 0xFFFF));
+            } else if (shortest[index] != Integer.MAX_VALUE) {
+                buckets.add(shortest[index] + 1, index, Tablebase.WIN);
+            } else if (unknown[index] == 0) {
+                buckets.add(longest[index] + 1, index, Tablebase.LOSS);
+            }
+        }
+
+        // Settle positions in order of distance, passing each result back to the positions before it
+        BitBoard bits = new BitBoard();
+        MoveBuffer moves = new MoveBuffer();
+        for (int distance = 0; distance < buckets.size(); distance++) {
+            int[] entries = buckets.get(distance);
+            int count = buckets.count(distance);
+            for (int i = 0; i < count; i++) {
+                int index = entries[i] >>> 2;
+                int result = entries[i] & 3;
+                if (distance > 0) {
+                    if (table[index] != 0) {
+                        continue; // Already settled at a shorter distance
+                    }
+                    table[index] = (short) Tablebase.encode(result, distance);
+                }
+                if (result == Tablebase.DRAW) {
+                    continue;
+                }
+                maxDistance = Math.max(maxDistance, distance);
+                settlePredecessors(table, unknown, longest, buckets, bits, moves, signature, index, result, distance);
+            }
+            buckets.clear(distance);
+        }
+
+        // Whatever is left can be kept going forever, so it is a draw
+        for (int index = 0; index < size; index++) {
+            if (table[index] == 0) {
+                table[index] = (short) Tablebase.encode(Tablebase.DRAW, 0);
+            }
+        }
+        signatures.add(signature);
+        positions += size;
+    }
+
+    /**
+     * Examines a position once: scores it if the game is over, otherwise counts its moves within
+     * the table and looks up the moves that leave it.
+     */
+    private void examine(short[] table, byte[] unknown, short[] longest, int[] shortest,
+                         BitBoard bits, MoveBuffer moves, int signature, int index) {
+        boolean blackToMove = setUp(bits, signature, index);
+        shortest[index] = Integer.MAX_VALUE;
+        if (!bits.hasAnyMove(blackToMove) || !bits.hasAnyMove(!blackToMove)) {
+            table[index] = (short) Tablebase.encode(Tablebase.materialResult(bits, blackToMove), 0);
+            return;
+        }
+        int count = bits.generateMoves(blackToMove, moves);
+        int inside = 0;
+        boolean blocked = false;
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            int undo = bits.makeMove(move);
+            if (Tablebase.signature(bits) == signature) {
+                inside++;
+            } else {
+                int reply = tablebase.value(bits, !blackToMove);
+                int distance = Tablebase.distance(reply);
+                if (Tablebase.result(reply) == Tablebase.LOSS) {
+                    shortest[index] = Math.min(shortest[index], distance);
+                } else if (Tablebase.result(reply) == Tablebase.WIN) {
+                    longest[index] = (short) Math.max(longest[index], distance);
+                } else {
+                    blocked = true;
+                }
+            }
+            bits.unmakeMove(move, undo);
+        }
+        unknown[index] = blocked ? BLOCKED : (byte) inside;
+    }
+
+    /**
+     * Passes a settled result to every position in the table that reaches it by a move:
+     * a loss makes them wins one move later, and a win counts towards making them losses.
+     */
+    private static void settlePredecessors(short[] table, byte[] unknown, short[] longest, Buckets buckets,
+                                           BitBoard bits, MoveBuffer moves, int signature, int index,
+                                           int result, int distance) {
+        boolean blackToMove = setUp(bits, signature, index);
+        boolean moverIsBlack = !blackToMove; // The side that made the move into this position
+        for (long pieces = moverIsBlack ? bits.getBlack() : bits.getWhite(); pieces != 0; pieces &= pieces - 1) {
+            int to = Long.numberOfTrailingZeros(pieces);
+            int code = bits.pieceAt(to);
+            for (int direction = 0; direction < 4; direction++) {
+                if (!BitBoard.movesInDirection(code, direction)) {
+                    continue;
+                }
+                int from = BitBoard.neighbor(3 - direction, to); // One step back against the direction
+                if (from < 0 || bits.pieceAt(from) != BitBoard.EMPTY) {
+                    continue;
+                }
+
+                // Undo the step, and check the step was a legal move there (captures are compulsory)
+                bits.set(to, BitBoard.EMPTY);
+                bits.set(from, code);
+                bits.setWhiteToMove(!moverIsBlack);
+                int move = MoveBuffer.pack(from, to, -1);
+                int predecessor = Tablebase.index(bits, signature, moverIsBlack);
+                if (table[predecessor] == 0 && isLegal(bits, moverIsBlack, move, moves)) {
+                    if (result == Tablebase.LOSS) {
+                        buckets.add(distance + 1, predecessor, Tablebase.WIN);
+                    } else if (unknown[predecessor] > 0) {
+                        longest[predecessor] = (short) Math.max(longest[predecessor], distance);
+                        if (--unknown[predecessor] == 0) {
+                            buckets.add(longest[predecessor] + 1, predecessor, Tablebase.LOSS);
+                        }
+                    }
+                }
+                bits.set(from, BitBoard.EMPTY);
+                bits.set(to, code);
+                bits.setWhiteToMove(!blackToMove);
+            }
+        }
+    }
+
+    private static boolean isLegal(BitBoard bits, boolean blackToMove, int move, MoveBuffer moves) {
+        int count = bits.generateMoves(blackToMove, moves);
+        for (int i = 0; i < count; i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Positions waiting to be settled, grouped by distance. Each entry packs the index of the
+     * position with the result it is expected to get.
+     */
+    private static final class Buckets {
+        private final List<int[]> entries = new ArrayList<>();
+        private final List<Integer> counts = new ArrayList<>();
+
+        void add(int distance, int index, int result) {
+            while (entries.size() <= distance) {
+                entries.add(new int[16]);
+                counts.add(0);
+            }
+            int count = counts.get(distance);
+            int[] bucket = entries.get(distance);
+            if (count == bucket.length) {
+                bucket = Arrays.copyOf(bucket, count * 2);
+                entries.set(distance, bucket);
+            }
+            bucket[count] = (index << 2) | result;
+            counts.set(distance, count + 1);
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        int[] get(int distance) {
+            return entries.get(distance);
+        }
+
+        int count(int distance) {
+            return counts.get(distance);
+        }
+
+        void clear(int distance) {
+            entries.set(distance, new int[0]);
+            counts.set(distance, 0);
+        }
+    }
+
+    /**
+     * Clears a bitboard and sets up the position with the given index.
+     *
+     * @return whether Black is to move.
+     */
+    private static boolean setUp(BitBoard bits, int signature, int index) {
+        for (long squares = bits.getBlack() | bits.getWhite(); squares != 0; squares &= squares - 1) {
+            bits.set(Long.numberOfTrailingZeros(squares), BitBoard.EMPTY);
+        }
+        return Tablebase.unrank(signature, index, bits);
+    }
+
+    /**
+     * Gets the number of positions solved so far.
+     *
+     * @return the position count, counting both sides to move.
+     */
+    public long getPositionCount() {
+        return positions;
+    }
+
+    /**
+     * Gets the longest win found.
+     *
+     * @return the number of moves, by both sides, of the longest win.
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Writes the solved tables to a file that {@link Tablebase#load(Path)} can map.
+     *
+     * @param path the file to write; it is replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(16 + signatures.size() * 8);
+            header.putInt(Tablebase.MAGIC).putInt(Tablebase.VERSION).putInt(maxPieces).putInt(signatures.size());
+            for (int signature : signatures) {
+                header.putInt(signature).putInt(Tablebase.size(signature));
+            }
+            header.flip();
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            for (int signature : signatures) {
+                ShortBuffer table = tables[signature].duplicate();
+                table.rewind();
+                while (table.hasRemaining()) {
+                    buffer.clear();
+                    while (buffer.remaining() >= 2 && table.hasRemaining()) {
+                        buffer.putShort(table.get());
+                    }
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Generates a tablebase file.
+     * Arguments: the largest number of pieces (default 4), then the output file (default endgame.tb).
+     *
+     * @param args the command line arguments.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int maxPieces = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        Path path = Paths.get(args.length > 1 ? args[1] : "endgame.tb");
+
+        long startTime = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator(maxPieces);
+        generator.generate();
+        generator.write(path);
+        System.out.println("Solved " + generator.getPositionCount() + " positions with up to " + maxPieces
+                + " pieces (longest win: " + generator.getMaxDistance() + " moves) in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms; written to " + path);
+    }
+}
@@ -0,0 +1,60 @@
+package upei.project;
+
+/**
+ * TablebaseStrategy plays perfectly once the game reaches a position covered by a
+ * {@link Tablebase}: it wins as quickly as possible, holds draws and resists losses as long as
+ * possible. Positions with more pieces are left to another strategy.
+ */
+public class TablebaseStrategy implements Strategy {
+    private final Tablebase tablebase;
+    private final Strategy fallback;
+    private GameListener listener = GameListener.NONE;
+
+    /**
+     * Creates a strategy that consults a tablebase before searching.
+     *
+     * @param tablebase the endgame tablebase.
+     * @param fallback the strategy that decides positions the tablebase does not cover.
+     */
+    public TablebaseStrategy(Tablebase tablebase, Strategy fallback) {
+        this.tablebase = tablebase;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Decides a move from the tablebase, or with the fallback strategy if the position is not in it.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @return The chosen move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player) {
+        return decideMove(board, player, SearchLimits.none());
+    }
+
+    /**
+     * Decides a move from the tablebase, or with the fallback strategy within the given limits
+     * if the position is not in it.
+     *
+     * @param board  The current state of the board.
+     * @param player The current player.
+     * @param limits The limits passed on to the fallback strategy.
+     * @return The chosen move, or null if no valid moves exist.
+     */
+    @Override
+    public Move decideMove(Board board, Player player, SearchLimits limits) {
+        int move = tablebase.bestMove(board, player.isBlack());
+        if (move < 0) {
+            return fallback.decideMove(board, player, limits);
+        }
+        listener.onMoveChosen(player, move);
+        return MoveBuffer.toMove(move);
+    }
+
+    @Override
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+        fallback.setListener(listener);
+    }
+}
@@ -0,0 +1,132 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+    // Generating the three-piece tables takes a few seconds, so the tests share them
+    private static Tablebase tablebase;
+
+    private static synchronized Tablebase threePieces() {
+        if (tablebase == null) {
+            tablebase = new TablebaseGenerator(3).generate();
+        }
+        return tablebase;
+    }
+
+    /**
+     * Creates a board with no pieces on it.
+     */
+    private Board emptyBoard() {
+        Board board = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                board.removePieceAt(row, col);
+            }
+        }
+        return board;
+    }
+
+    @Test
+    void testIndexIsPerfect() {
+        int signature = Tablebase.signature(1, 1, 0, 1);
+        int size = Tablebase.size(signature);
+        assertEquals(32 * 31 * 30 * 2, size, "The table should have one entry per placement and side to move.");
+
+        for (int index = 0; index < size; index += 7) {
+            BitBoard bits = new BitBoard();
+            boolean blackToMove = Tablebase.unrank(signature, index, bits);
+            assertEquals(signature, Tablebase.signature(bits), "The position should have the table's material.");
+            assertEquals(index, Tablebase.index(bits, signature, blackToMove), "Indexing should reverse unranking.");
+        }
+    }
+
+    @Test
+    void testImmediateWinIsFound() {
+        Board board = emptyBoard();
+        board.placePieceAt(3, 2, new RegularPiece("Black"));
+        board.placePieceAt(0, 7, new RegularPiece("Black"));
+        board.placePieceAt(4, 3, new RegularPiece("White"));
+
+        int value = threePieces().probe(board, true);
+
+        assertEquals(Tablebase.WIN, Tablebase.result(value), "Black wins by capturing White's last piece.");
+        assertEquals(1, Tablebase.distance(value), "The capture ends the game at once.");
+        assertEquals(new Move(3, 2, 5, 4, true), MoveBuffer.toMove(threePieces().bestMove(board, true)),
+                "The best move should be the winning capture.");
+    }
+
+    @Test
+    void testBestMovesFollowTheTable() {
+        Tablebase tablebase = threePieces();
+        Board board = emptyBoard();
+        board.placePieceAt(2, 3, new RegularPiece("Black"));
+        board.placePieceAt(7, 0, new KingPiece("White"));
+        board.placePieceAt(5, 6, new RegularPiece("White"));
+        boolean blackToMove = true;
+
+        // Each best move keeps the result and brings a decided game one move closer to its end
+        int value = tablebase.probe(board, blackToMove);
+        for (int ply = 0; ply < 200 && board.hasAnyMove(PieceColor.BLACK) && board.hasAnyMove(PieceColor.WHITE); ply++) {
+            int move = tablebase.bestMove(board, blackToMove);
+            board.getBitBoard().makeMove(move);
+            blackToMove = !blackToMove;
+            int next = tablebase.probe(board, blackToMove);
+            int result = Tablebase.result(value);
+            int expected = result == Tablebase.WIN ? Tablebase.LOSS : result == Tablebase.LOSS ? Tablebase.WIN : Tablebase.DRAW;
+            assertEquals(expected, Tablebase.result(next), "Best play should keep the result.");
+            if (result != Tablebase.DRAW) {
+                assertEquals(Tablebase.distance(value) - 1, Tablebase.distance(next), "Best play should follow the distance.");
+            }
+            value = next;
+        }
+    }
+
+    @Test
+    void testTablebaseFileRoundTrip() throws IOException {
+        Path path = Files.createTempFile("endgame", ".tb");
+        path.toFile().deleteOnExit(); // A mapped file cannot be deleted on every platform
+        TablebaseGenerator generator = new TablebaseGenerator(2);
+        Tablebase generated = generator.generate();
+        generator.write(path);
+        Tablebase loaded = Tablebase.load(path);
+
+        assertEquals(2, loaded.getMaxPieces(), "The piece count should be read back.");
+        int signature = Tablebase.signature(0, 1, 0, 1);
+        for (int index = 0; index < Tablebase.size(signature); index++) {
+            BitBoard bits = new BitBoard();
+            boolean blackToMove = Tablebase.unrank(signature, index, bits);
+            assertEquals(generated.value(bits, blackToMove), loaded.value(bits, blackToMove),
+                    "The loaded table should match the generated one.");
+        }
+    }
+
+    @Test
+    void testGameIsAdjudicated() {
+        Board board = emptyBoard();
+        board.placePieceAt(3, 2, new RegularPiece("Black"));
+        board.placePieceAt(0, 7, new RegularPiece("Black"));
+        board.placePieceAt(4, 3, new RegularPiece("White"));
+        Player black = new Player("Black", new RandomStrategy());
+        Player white = new Player("White", new RandomStrategy());
+        Game game = new Game(black, white, board);
+        game.setTablebase(threePieces());
+
+        GameResult result = game.play();
+
+        assertEquals(GameResult.TerminationReason.TABLEBASE, result.getReason(), "The tablebase should end the game.");
+        assertSame(black, result.getWinner(), "Black wins with best play.");
+        assertEquals(0, result.getPlies(), "No moves need to be played.");
+    }
+
+    @Test
+    void testInvalidPieceCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(1), "One piece is not a game.");
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(9), "Tables that large are not supported.");
+    }
+}
@@ -0,0 +1,19 @@
+package upei.project;
+
+/**
+ * ThreatEvaluator scores positions by how exposed a side's pieces are: each contact (an opposing
+ * piece next to one of the side's pieces, with an empty square beyond) costs a point, as counted
+ * by {@link Board#getThreatCount(PieceColor)}. Scores are zero or negative; zero means no contacts.
+ */
+public class ThreatEvaluator implements BatchEvaluator {
+
+    @Override
+    public void evaluate(PositionBatch batch, boolean forBlack, int[] scores) {
+        long[] own = forBlack ? batch.blackMasks() : batch.whiteMasks();
+        long[] opponent = forBlack ? batch.whiteMasks() : batch.blackMasks();
+        int size = batch.size();
+        for (int i = 0; i < size; i++) {
+            scores[i] = -BitBoard.countContacts(own[i], opponent[i]);
+        }
+    }
+}
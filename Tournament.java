@@ -0,0 +1,219 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The Tournament class plays a round-robin between strategies: every entrant meets every other
+ * entrant for the same number of games, with colours swapped after each game so both sides
+ * play Black equally often.
+ *
+ * Games are spread over an executor in the same way as {@link SimulationExperiment#runParallel}.
+ * The schedule interleaves the pairings round by round, so all pairings progress together and
+ * every result is streamed into the pairing's counts and the {@link Ratings} as soon as its game
+ * ends. With a {@link Sprt} set, a pairing whose result is settled skips its remaining games.
+ */
+public class Tournament {
+    private static final double ELO_K = 16; // Incremental Elo change for a fully unexpected result
+
+    private final int gamesPerPairing;
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<? extends Strategy>> strategies = new ArrayList<>();
+    private Sprt sprt;                                 // Stops settled pairings; null plays every game
+    private GameListener listener = GameListener.NONE; // Receives events from every game; silent by default
+    private GameRecordSink recordSink;                 // Receives the record of every game; null to keep none
+
+    /**
+     * Creates an empty tournament.
+     *
+     * @param gamesPerPairing the most games each pair of entrants plays (at least 1).
+     */
+    public Tournament(int gamesPerPairing) {
+        if (gamesPerPairing < 1) {
+            throw new IllegalArgumentException("Each pairing must play at least one game.");
+        }
+        this.gamesPerPairing = gamesPerPairing;
+    }
+
+    /**
+     * Adds an entrant. Each worker creates its own strategy instance from the factory.
+     *
+     * @param name the entrant's name, unique within the tournament.
+     * @param strategy creates the entrant's strategy.
+     */
+    public void addEntrant(String name, Supplier<? extends Strategy> strategy) {
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate entrant: " + name);
+        }
+        names.add(name);
+        strategies.add(strategy);
+    }
+
+    /**
+     * Sets the test that stops a pairing once its result is settled.
+     * The test is applied from the first entrant's side of each pairing.
+     *
+     * @param sprt the test, or null to play every game.
+     */
+    public void setSprt(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Sets the listener attached to every game.
+     *
+     * @param listener the listener to notify.
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the sink that receives the record of every game.
+     *
+     * @param recordSink the sink to use, or null to keep no records.
+     */
+    public void setRecordSink(GameRecordSink recordSink) {
+        this.recordSink = recordSink;
+    }
+
+    /**
+     * Plays the tournament on all available processors.
+     *
+     * @return the results.
+     */
+    public TournamentResult run() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return run(executor, threads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Plays the tournament, spreading the games over an executor.
+     * Workers claim games from a shared counter until the schedule is exhausted.
+     * If a game fails or the caller is interrupted, the workers stop claiming games.
+     *
+     * @param executor the executor that runs the workers; it is not shut down.
+     * @param workers the number of workers to submit, normally the executor's thread count.
+     * @return the results.
+     */
+    public TournamentResult run(ExecutorService executor, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required.");
+        }
+        if (names.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least two entrants.");
+        }
+        List<PairingResult> pairings = new ArrayList<>();
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                pairings.add(new PairingResult(a, b, gamesPerPairing));
+            }
+        }
+        Ratings ratings = new Ratings(names.size(), ELO_K);
+        int totalGames = pairings.size() * gamesPerPairing;
+        AtomicInteger nextGame = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean(); // Set when a game fails, so no further games are claimed
+
+        Callable<Void> worker = () -> {
+            Strategy[] own = new Strategy[names.size()]; // This worker's instances, created on first use
+            int gameIndex;
+            while (!stopped.get() && (gameIndex = nextGame.getAndIncrement()) < totalGames) {
+                PairingResult pairing = pairings.get(gameIndex % pairings.size());
+                int round = gameIndex / pairings.size();
+                if (pairing.getDecision() != Sprt.Decision.CONTINUE) {
+                    continue;
+                }
+                listener.onSimulationGame(gameIndex + 1, totalGames);
+
+                // The first entrant plays Black in even rounds and White in odd rounds
+                int first = pairing.getFirst();
+                int second = pairing.getSecond();
+                boolean firstIsBlack = round % 2 == 0;
+                Player black = new Player(PieceColor.BLACK, strategy(own, firstIsBlack ? first : second));
+                Player white = new Player(PieceColor.WHITE, strategy(own, firstIsBlack ? second : first));
+                Game game = new Game(black, white);
+                game.setListener(listener);
+                game.setRecordSink(recordSink);
+                GameResult result;
+                try {
+                    result = game.play();
+                } catch (RuntimeException | Error e) {
+                    stopped.set(true);
+                    throw e;
+                }
+
+                double score;
+                if (result.isDraw()) {
+                    score = 0.5;
+                } else {
+                    score = (result.getWinner() == black) == firstIsBlack ? 1 : 0;
+                }
+                pairing.record(score, round, sprt);
+                ratings.record(first, second, score);
+            }
+            return null;
+        };
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament was interrupted.", e);
+        } catch (ExecutionException e) {
+            stopped.set(true);
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("A tournament game failed.", e.getCause());
+        }
+        return new TournamentResult(names, pairings, ratings);
+    }
+
+    private Strategy strategy(Strategy[] own, int entrant) {
+        if (own[entrant] == null) {
+            own[entrant] = strategies.get(entrant).get();
+        }
+        return own[entrant];
+    }
+
+    /**
+     * Plays a round-robin between the built-in strategies and prints the results.
+     * Arguments: games per pairing (default 100), then the SPRT Elo margin (default 50; 0 plays every game).
+     *
+     * @param args the command line arguments.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        double margin = args.length > 1 ? Double.parseDouble(args[1]) : 50;
+
+        Tournament tournament = new Tournament(games);
+        tournament.addEntrant("Random", RandomStrategy::new);
+        tournament.addEntrant("Aggressive", AggressiveStrategy::new);
+        tournament.addEntrant("Defensive", DefensiveStrategy::new);
+        tournament.addEntrant("AlphaBeta", () -> new AlphaBetaStrategy(4));
+        tournament.addEntrant("Mcts", () -> new MctsStrategy(200));
+        if (margin > 0) {
+            tournament.setSprt(Sprt.whichIsStronger(margin));
+        }
+        tournament.run().printResults();
+    }
+}
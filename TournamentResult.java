@@ -0,0 +1,106 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The TournamentResult class holds the outcome of a {@link Tournament}: the results of every
+ * pairing and the ratings of every entrant.
+ */
+public class TournamentResult {
+    private static final double Z_95 = 1.96; // Normal quantile of a 95% confidence interval
+
+    private final List<String> names;
+    private final List<PairingResult> pairings;
+    private final Ratings ratings;
+
+    /**
+     * Creates a result.
+     *
+     * @param names the entrant names, by entrant index.
+     * @param pairings the results of each pairing.
+     * @param ratings the entrant ratings.
+     */
+    public TournamentResult(List<String> names, List<PairingResult> pairings, Ratings ratings) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.pairings = Collections.unmodifiableList(new ArrayList<>(pairings));
+        this.ratings = ratings;
+    }
+
+    /**
+     * Gets the entrant names.
+     *
+     * @return the names, by entrant index.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the results of every pairing, in schedule order.
+     *
+     * @return the pairing results.
+     */
+    public List<PairingResult> getPairings() {
+        return pairings;
+    }
+
+    /**
+     * Gets the entrant ratings.
+     *
+     * @return the ratings.
+     */
+    public Ratings getRatings() {
+        return ratings;
+    }
+
+    /**
+     * Gets the result of the pairing between two entrants.
+     *
+     * @param first the first entrant's name.
+     * @param second the second entrant's name.
+     * @return the pairing, counted from the first entrant's side; null if they did not meet.
+     */
+    public PairingResult getPairing(String first, String second) {
+        int a = names.indexOf(first);
+        int b = names.indexOf(second);
+        for (PairingResult pairing : pairings) {
+            if (pairing.getFirst() == a && pairing.getSecond() == b
+                    || pairing.getFirst() == b && pairing.getSecond() == a) {
+                return pairing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prints the standings, strongest entrant first, followed by every pairing with its
+     * Elo difference and 95% confidence interval.
+     */
+    public void printResults() {
+        double[] strengths = ratings.bradleyTerry();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(strengths[b], strengths[a]));
+
+        System.out.println("Standings:");
+        System.out.println(String.format("%-20s %6s %7s %8s %8s", "Entrant", "Games", "Points", "BT Elo", "Elo"));
+        for (int i : order) {
+            System.out.println(String.format("%-20s %6d %7.1f %8.0f %8.0f", names.get(i),
+                    ratings.getGames(i), ratings.getPoints(i), strengths[i], ratings.getElo(i)));
+        }
+
+        System.out.println("Pairings:");
+        for (PairingResult pairing : pairings) {
+            double[] elo = pairing.getEloDifference(Z_95);
+            System.out.println(String.format("%s vs %s: +%d =%d -%d, score %.1f%%, Elo %+.0f [%+.0f, %+.0f]%s",
+                    names.get(pairing.getFirst()), names.get(pairing.getSecond()),
+                    pairing.getWins(), pairing.getDraws(), pairing.getLosses(), pairing.getScore() * 100,
+                    elo[0], elo[1], elo[2],
+                    pairing.getDecision() == Sprt.Decision.CONTINUE ? "" : " (stopped: " + pairing.getDecision() + ")"));
+        }
+    }
+}
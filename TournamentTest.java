@@ -0,0 +1,154 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    @Test
+    void testRoundRobinPlaysEveryPairing() {
+        Tournament tournament = new Tournament(4);
+        tournament.addEntrant("Random", RandomStrategy::new);
+        tournament.addEntrant("Aggressive", AggressiveStrategy::new);
+        tournament.addEntrant("Defensive", DefensiveStrategy::new);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            TournamentResult result = tournament.run(executor, 3);
+            assertEquals(3, result.getPairings().size(), "Three entrants should give three pairings.");
+            for (PairingResult pairing : result.getPairings()) {
+                assertEquals(4, pairing.getGames(), "Every pairing should play all its games without a test.");
+            }
+            for (int entrant = 0; entrant < 3; entrant++) {
+                assertEquals(8, result.getRatings().getGames(entrant), "Every entrant should play two pairings.");
+            }
+            assertNotNull(result.getPairing("Defensive", "Random"), "Pairings should be found in either order.");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSprtStopsOneSidedPairing() {
+        Tournament tournament = new Tournament(200);
+        tournament.addEntrant("AlphaBeta", () -> new AlphaBetaStrategy(3));
+        tournament.addEntrant("Random", RandomStrategy::new);
+        tournament.setSprt(Sprt.whichIsStronger(50));
+        PairingResult pairing = tournament.run().getPairings().get(0);
+
+        assertEquals(Sprt.Decision.ACCEPT_H1, pairing.getDecision(), "The search should be settled as stronger.");
+        assertTrue(pairing.getGames() < 200, "A settled pairing should skip its remaining games.");
+    }
+
+    @Test
+    void testSprtDecisions() {
+        Sprt sprt = Sprt.whichIsStronger(50);
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(0, 0, 0), "No games should settle nothing.");
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(10, 0, 10), "An even score should not be settled.");
+        assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(60, 20, 20), "A clear win should accept H1.");
+        assertEquals(Sprt.Decision.ACCEPT_H0, sprt.decide(20, 20, 60), "A clear loss should accept H0.");
+        assertEquals(0, sprt.logLikelihoodRatio(30, 40, 30), 1e-9, "A score of 50% should favour neither side.");
+    }
+
+    @Test
+    void testSprtNeedsMoreThanAFewOneSidedGames() {
+        Sprt sprt = Sprt.whichIsStronger(50);
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(2, 0, 0), "Two wins should not settle the test.");
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(0, 0, 2), "Two losses should not settle the test.");
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(3, 1, 0), "Four games should not settle the test.");
+        assertEquals(Sprt.Decision.CONTINUE, sprt.decide(19, 0, 0), "No decision should come before the minimum.");
+        assertEquals(Sprt.Decision.ACCEPT_H1, sprt.decide(20, 0, 0), "Twenty straight wins should settle the test.");
+
+        // Without the minimum, the regularized variance alone should still need more than a few games
+        Sprt early = new Sprt(-50, 50, 0.05, 0.05, 1);
+        assertEquals(Sprt.Decision.CONTINUE, early.decide(2, 0, 0), "Two wins should not settle the test.");
+        assertEquals(Sprt.Decision.CONTINUE, early.decide(0, 0, 4), "Four losses should not settle the test.");
+        assertTrue(early.logLikelihoodRatio(2, 0, 0) < 1, "Two wins should carry little evidence.");
+    }
+
+    @Test
+    void testSprtOnlySeesCompleteColourPairs() {
+        Sprt sprt = new Sprt(-50, 50, 0.05, 0.05, 2);
+        PairingResult pairing = new PairingResult(0, 1, 40);
+        // The first entrant wins every game with Black (even rounds); those finish first
+        for (int round = 0; round < 40; round += 2) {
+            pairing.record(1, round, sprt);
+        }
+        assertEquals(20, pairing.getGames(), "Every game should be counted.");
+        assertEquals(Sprt.Decision.CONTINUE, pairing.getDecision(), "Half-finished pairs should not be tested.");
+        // With colours swapped it loses every game, so the complete pairs are even
+        for (int round = 1; round < 40; round += 2) {
+            pairing.record(0, round, sprt);
+        }
+        assertEquals(Sprt.Decision.CONTINUE, pairing.getDecision(), "An even result should not be settled.");
+    }
+
+    @Test
+    void testScoreIntervalContainsScore() {
+        PairingResult pairing = new PairingResult(0, 1, 30);
+        for (int i = 0; i < 30; i++) {
+            pairing.record(i % 3 == 0 ? 0 : 1, i, null);
+        }
+        double[] interval = pairing.getScoreInterval(1.96);
+        assertTrue(interval[0] < pairing.getScore() && pairing.getScore() < interval[1],
+                "The interval should contain the observed score.");
+        assertEquals(0.4878, interval[0], 1e-3, "Wrong lower bound of the Wilson interval.");
+        assertEquals(0.8077, interval[1], 1e-3, "Wrong upper bound of the Wilson interval.");
+        double[] elo = pairing.getEloDifference(1.96);
+        assertEquals(Sprt.eloDifference(2.0 / 3), elo[0], 1e-9, "The estimate should come from the score.");
+    }
+
+    @Test
+    void testBradleyTerryOrdersPlayers() {
+        Ratings ratings = new Ratings(3, 16);
+        for (int i = 0; i < 20; i++) {
+            ratings.record(0, 1, i % 4 == 0 ? 0 : 1); // 0 scores 75% against 1
+            ratings.record(1, 2, i % 4 == 0 ? 0 : 1); // 1 scores 75% against 2
+            ratings.record(0, 2, 1);
+        }
+        double[] strengths = ratings.bradleyTerry();
+        assertTrue(strengths[0] > strengths[1] && strengths[1] > strengths[2], "Ratings should follow the results.");
+        assertEquals(0, strengths[0] + strengths[1] + strengths[2], 1e-6, "Ratings should be centred on 0.");
+        assertTrue(ratings.getElo(0) > ratings.getElo(2), "Incremental Elo should follow the results.");
+    }
+
+    @Test
+    void testTournamentStopsAfterAFailedGame() throws InterruptedException {
+        int workers = 3;
+        Tournament tournament = new Tournament(500);
+        AtomicInteger started = new AtomicInteger();
+        tournament.setListener(new GameListener() {
+            @Override
+            public void onSimulationGame(int gameNumber, int numberOfGames) {
+                started.incrementAndGet();
+            }
+        });
+        AtomicBoolean failed = new AtomicBoolean();
+        tournament.addEntrant("Failing", () -> new RandomStrategy() {
+            @Override
+            public Move decideMove(Board board, Player player) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Strategy failure");
+                }
+                return super.decideMove(board, player);
+            }
+        });
+        tournament.addEntrant("Random", RandomStrategy::new);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            assertThrows(IllegalStateException.class, () -> tournament.run(executor, workers),
+                    "A failed game should fail the tournament.");
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "The workers should stop.");
+        assertTrue(started.get() <= 2 * workers,
+                "Each worker should finish at most the game it was playing, not " + started.get() + " games.");
+    }
+}
@@ -0,0 +1,161 @@
+package upei.project;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class remembers the results of searched positions, keyed by their
+ * Zobrist hash, so a search that reaches the same position through a different move order
+ * can reuse the earlier result instead of searching it again.
+ *
+ * The table is a single long[] of fixed size. Positions hash to a bucket of two entries:
+ * the first keeps the deepest result stored in the bucket, the second always takes the newest
+ * result that did not replace the first. Each entry is two longs: the key XORed with the data,
+ * and the data itself (score, depth, bound type and best move packed together), so a torn
+ * write from another thread shows up as a miss rather than as wrong data.
+ */
+public class TranspositionTable {
+    // Bound types: how the stored score relates to the true score of the position
+    public static final int EXACT = 1;       // The score is exact
+    public static final int LOWER_BOUND = 2; // The true score is at least the stored score
+    public static final int UPPER_BOUND = 3; // The true score is at most the stored score
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int LONGS_PER_BUCKET = 2 * LONGS_PER_ENTRY;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+    // Layout of the packed data: score in bits 0-31, depth in 32-39, bound in 40-41, move in 42-63.
+    // The move field holds any packed move of up to six jumps; longer captures are not stored.
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final long MOVE_MASK = (1L << 22) - 1;
+
+    private final long[] table;
+    private final int bucketMask;
+
+    /**
+     * Creates a table that uses at most the given amount of memory.
+     * The number of buckets is the largest power of two that fits.
+     *
+     * @param sizeMegabytes the memory cap in megabytes (at least 1).
+     */
+    public TranspositionTable(int sizeMegabytes) {
+        if (sizeMegabytes < 1 || sizeMegabytes > 16384) {
+            throw new IllegalArgumentException("Table size must be between 1 and 16384 MB.");
+        }
+        long buckets = Long.highestOneBit(sizeMegabytes * 1024L * 1024L / BYTES_PER_BUCKET);
+        // A Java array holds fewer than 2^31 elements
+        buckets = Math.min(buckets, 1L << 28);
+        this.table = new long[(int) (buckets * LONGS_PER_BUCKET)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the Zobrist hash of the position.
+     * @return the packed entry data, or 0 if the position is not in the table.
+     */
+    public long probe(long key) {
+        int index = bucketIndex(key);
+        for (int slot = index; slot < index + LONGS_PER_BUCKET; slot += LONGS_PER_ENTRY) {
+            long data = table[slot + 1];
+            if (data != 0 && (table[slot] ^ data) == key) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of searching a position.
+     *
+     * @param key the Zobrist hash of the position.
+     * @param depth the depth the position was searched to (0-255).
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param score the score of the position.
+     * @param bestMove the best packed move found, or -1 if there is none.
+     *                 Captures of more than six jumps are stored as no move.
+     */
+    public void store(long key, int depth, int bound, int score, int bestMove) {
+        long data = (score & 0xFFFFFFFFL)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((bestMove < 0 || bestMove > MOVE_MASK ? 0L : bestMove) << MOVE_SHIFT);
+        int index = bucketIndex(key);
+
+        // Depth-preferred slot: replace it for the same position or a search at least as deep
+        long deepData = table[index + 1];
+        boolean samePosition = (table[index] ^ deepData) == key;
+        if (deepData == 0 || samePosition || depth >= depth(deepData)) {
+            table[index] = key ^ data;
+            table[index + 1] = data;
+            return;
+        }
+
+        // Always-replace slot
+        table[index + 2] = key ^ data;
+        table[index + 3] = data;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    /**
+     * Gets the number of positions the table can hold.
+     *
+     * @return the number of entries.
+     */
+    public int getCapacity() {
+        return table.length / LONGS_PER_ENTRY;
+    }
+
+    private int bucketIndex(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    /**
+     * Gets the score from packed entry data.
+     *
+     * @param data the entry data returned by probe.
+     * @return the stored score.
+     */
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Gets the search depth from packed entry data.
+     *
+     * @param data the entry data returned by probe.
+     * @return the stored depth.
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the bound type from packed entry data.
+     *
+     * @param data the entry data returned by probe.
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND.
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Gets the best move from packed entry data.
+     *
+     * @param data the entry data returned by probe.
+     * @return the stored packed move, or -1 if none was stored.
+     */
+    public static int bestMove(long data) {
+        int move = (int) ((data >>> MOVE_SHIFT) & MOVE_MASK);
+        return move == 0 ? -1 : move;
+    }
+}
@@ -0,0 +1,68 @@
+package upei.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = MoveBuffer.pack(BitBoard.square(2, 3), BitBoard.square(4, 5), BitBoard.square(3, 4));
+
+        assertEquals(0L, table.probe(42L), "An empty table should miss.");
+
+        table.store(42L, 7, TranspositionTable.LOWER_BOUND, -1234, move);
+        long entry = table.probe(42L);
+
+        assertNotEquals(0L, entry, "The stored position should be found.");
+        assertEquals(-1234, TranspositionTable.score(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(move, TranspositionTable.bestMove(entry));
+    }
+
+    @Test
+    void testReplacementKeepsDeepestEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        long bucketStride = table.getCapacity() / 2; // Keys this far apart share a bucket
+        long deep = 5L;
+        long shallow = deep + bucketStride;
+        long newer = deep + 2 * bucketStride;
+
+        table.store(deep, 10, TranspositionTable.EXACT, 1, -1);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, -1);
+        table.store(newer, 3, TranspositionTable.EXACT, 3, -1);
+
+        assertEquals(1, TranspositionTable.score(table.probe(deep)), "The deep entry should be kept.");
+        assertEquals(0L, table.probe(shallow), "The older shallow entry should be replaced.");
+        assertEquals(3, TranspositionTable.score(table.probe(newer)), "The newest entry should be stored.");
+        assertEquals(TranspositionTable.bestMove(table.probe(newer)), -1, "No best move was stored.");
+    }
+
+    @Test
+    void testSizeIsCapped() {
+        TranspositionTable table = new TranspositionTable(2);
+        // Two longs (16 bytes) per entry
+        assertTrue(table.getCapacity() * 16L <= 2L * 1024 * 1024, "The table should fit in its memory cap.");
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void testSearchWithTableFindsSameSafeMove() {
+        Board board = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                board.removePieceAt(row, col);
+            }
+        }
+        board.placePieceAt(2, 3, new RegularPiece("Black"));
+        board.placePieceAt(4, 1, new RegularPiece("White"));
+        AlphaBetaStrategy strategy = new AlphaBetaStrategy(8, 0, new MaterialEvaluator(), new TranspositionTable(1));
+        Player blackPlayer = new Player("Black", strategy);
+
+        assertEquals(new Move(2, 3, 3, 4, false), strategy.decideMove(board, blackPlayer),
+                "The table should not change the move found by the search.");
+    }
+}
@@ -0,0 +1,60 @@
+package upei.project;
+
+/**
+ * The Zobrist class holds the random keys used to hash board positions.
+ * A position's hash is the XOR of one key per occupied square (chosen by the piece on it)
+ * and a side key when White is to move, so it can be updated incrementally as pieces move.
+ * The keys come from a fixed seed, so hashes are stable between runs and can be stored in files.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x2910_2024_C4EC_3E55L;
+
+    // Keys indexed by BitBoard piece code and square; codes that are not pieces map to zero
+    private static final long[][] PIECE_KEYS = new long[8][64];
+    private static final long SIDE_KEY;
+
+    static {
+        long state = SEED;
+        int[] codes = {BitBoard.BLACK, BitBoard.WHITE, BitBoard.BLACK | BitBoard.KING, BitBoard.WHITE | BitBoard.KING};
+        for (int code : codes) {
+            for (int square = 0; square < 64; square++) {
+                state += 0x9E3779B97F4A7C15L;
+                PIECE_KEYS[code][square] = mix(state);
+            }
+        }
+        state += 0x9E3779B97F4A7C15L;
+        SIDE_KEY = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Scrambles a counter into a well-distributed 64-bit value (the SplitMix64 finalizer).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the key for a piece on a square.
+     *
+     * @param code the BitBoard piece code; EMPTY has a key of zero.
+     * @param square the square index (0-63).
+     * @return the key.
+     */
+    public static long piece(int code, int square) {
+        return PIECE_KEYS[code][square];
+    }
+
+    /**
+     * Gets the key that is XORed into the hash when White is to move.
+     *
+     * @return the side-to-move key.
+     */
+    public static long side() {
+        return SIDE_KEY;
+    }
+}
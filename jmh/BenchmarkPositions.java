@@ -0,0 +1,46 @@
+package upei.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BenchmarkPositions builds the fixed set of mid-game positions the benchmarks run on.
+ * The positions come from seeded random play, so every run measures the same boards.
+ */
+final class BenchmarkPositions {
+    static final int COUNT = 32;
+    private static final long SEED = 20240601L;
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Plays random games from the starting position and keeps one position from each,
+     * taken after 8 to 24 plies with Black to move and both sides still able to move.
+     *
+     * @return the positions, always the same for every call.
+     */
+    static List<Board> midGame() {
+        Random random = new Random(SEED);
+        List<Board> positions = new ArrayList<>(COUNT);
+        MoveBuffer moves = new MoveBuffer();
+        while (positions.size() < COUNT) {
+            Board board = new Board();
+            int plies = 8 + 2 * random.nextInt(9); // Even, so Black is to move
+            boolean finished = false;
+            for (int ply = 0; ply < plies && !finished; ply++) {
+                int count = board.getBitBoard().generateMoves(ply % 2 == 0, moves);
+                if (count == 0) {
+                    finished = true;
+                } else {
+                    board.makeMove(moves.get(random.nextInt(count)));
+                }
+            }
+            if (!finished && board.hasAnyMove(PieceColor.BLACK) && board.hasAnyMove(PieceColor.WHITE)) {
+                positions.add(board);
+            }
+        }
+        return positions;
+    }
+}
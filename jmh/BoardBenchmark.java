@@ -0,0 +1,107 @@
+package upei.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the board operations the strategies and the game loop spend their time in.
+ * Each call works on the next position of the fixed mid-game set, so the numbers are
+ * averages over varied positions rather than the starting position only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    private Board[] positions;
+    private Move[] firstMoves;
+    private String[] fens;
+    private final MoveBuffer buffer = new MoveBuffer();
+    private final Player blackPlayer = new Player(PieceColor.BLACK, new RandomStrategy());
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Board> boards = BenchmarkPositions.midGame();
+        positions = boards.toArray(new Board[0]);
+        firstMoves = new Move[positions.length];
+        fens = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            firstMoves[i] = positions[i].getValidMoves(blackPlayer).get(0);
+            fens[i] = positions[i].toFen();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (next + 1) % positions.length;
+        return index;
+    }
+
+    @Benchmark
+    public List<Move> getValidMoves() {
+        return positions[nextIndex()].getValidMoves(blackPlayer);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return positions[nextIndex()].generateMoves(blackPlayer, buffer);
+    }
+
+    @Benchmark
+    public List<Move> playerGetAllValidMoves() {
+        return blackPlayer.getAllValidMoves(positions[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean hasAnyMove() {
+        return positions[nextIndex()].hasAnyMove(PieceColor.BLACK);
+    }
+
+    @Benchmark
+    public Board copy() {
+        return positions[nextIndex()].copy();
+    }
+
+    @Benchmark
+    public Board copyAndExecuteMove() {
+        int index = nextIndex();
+        Board board = positions[index].copy();
+        board.executeMove(firstMoves[index]);
+        return board;
+    }
+
+    @Benchmark
+    public Board fromFen() {
+        return Board.fromFen(fens[nextIndex()]);
+    }
+
+    @Benchmark
+    public String toFen() {
+        return positions[nextIndex()].toFen();
+    }
+
+    @Benchmark
+    public void makeAndUnmakeMove(Blackhole blackhole) {
+        int index = nextIndex();
+        Board board = positions[index];
+        int move = MoveBuffer.pack(firstMoves[index]);
+        int undo = board.makeMove(move);
+        blackhole.consume(board.getHash());
+        board.unmakeMove(move, undo);
+    }
+}
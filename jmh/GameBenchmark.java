@@ -0,0 +1,37 @@
+package upei.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whole games per second for a pairing of strategies, the figure that bounds
+ * how fast simulation experiments can run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    @Param({"Random:Random", "Aggressive:Defensive"})
+    public String pairing;
+
+    @Benchmark
+    public GameResult playGame() {
+        String[] names = pairing.split(":");
+        Player player1 = new Player(PieceColor.BLACK, StrategyBenchmark.createStrategy(names[0]));
+        Player player2 = new Player(PieceColor.WHITE, StrategyBenchmark.createStrategy(names[1]));
+        return new Game(player1, player2).play();
+    }
+}
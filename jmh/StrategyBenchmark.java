@@ -0,0 +1,63 @@
+package upei.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each strategy takes to decide a move on the fixed mid-game positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+    @Param({"Random", "Aggressive", "Defensive", "AlphaBeta", "Mcts"})
+    public String strategy;
+
+    private Board[] positions;
+    private Player player;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkPositions.midGame().toArray(new Board[0]);
+        player = new Player(PieceColor.BLACK, createStrategy(strategy));
+    }
+
+    static Strategy createStrategy(String name) {
+        switch (name) {
+            case "Random":
+                return new RandomStrategy();
+            case "Aggressive":
+                return new AggressiveStrategy();
+            case "Defensive":
+                return new DefensiveStrategy();
+            case "AlphaBeta":
+                return new AlphaBetaStrategy(4);
+            case "Mcts":
+                return new MctsStrategy(200);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    @Benchmark
+    public Move decideMove() {
+        Board board = positions[next];
+        next = (next + 1) % positions.length;
+        return player.decideMove(board);
+    }
+}